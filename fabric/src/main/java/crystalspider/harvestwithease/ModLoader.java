@@ -1,10 +1,18 @@
 package crystalspider.harvestwithease;
 
 import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.handler.ConfigEventHandler;
 import crystalspider.harvestwithease.handler.PlayerBlockBreakHandler;
+import crystalspider.harvestwithease.handler.ServerStoppingHandler;
+import crystalspider.harvestwithease.handler.ServerTickHandler;
+import crystalspider.harvestwithease.handler.TagsLoadedHandler;
 import crystalspider.harvestwithease.handler.UseBlockHandler;
 import fuzs.forgeconfigapiport.api.config.v3.ForgeConfigRegistry;
+import fuzs.forgeconfigapiport.api.config.v3.ModConfigEvents;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.player.PlayerBlockBreakEvents;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
 import net.neoforged.fml.config.ModConfig.Type;
@@ -21,7 +29,12 @@ public class ModLoader implements ModInitializer {
   @Override
   public void onInitialize() {
     ForgeConfigRegistry.INSTANCE.register(MOD_ID, Type.COMMON, ModConfig.SPEC);
+    ModConfigEvents.loading(MOD_ID).register(ConfigEventHandler::handle);
+    ModConfigEvents.reloading(MOD_ID).register(ConfigEventHandler::handle);
+    CommonLifecycleEvents.TAGS_LOADED.register(TagsLoadedHandler::handle);
     UseBlockCallback.EVENT.register(UseBlockHandler::handle);
     PlayerBlockBreakEvents.AFTER.register(PlayerBlockBreakHandler::handle);
+    ServerTickEvents.END_SERVER_TICK.register(ServerTickHandler::handle);
+    ServerLifecycleEvents.SERVER_STOPPING.register(ServerStoppingHandler::handle);
   }
 }
@@ -1,36 +1,35 @@
 package crystalspider.harvestwithease.api;
 
-import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.cache.CropBlocks;
+import crystalspider.harvestwithease.cache.CropTable;
+import crystalspider.harvestwithease.cache.SeedTable;
+import crystalspider.harvestwithease.cache.TierTable;
+import crystalspider.harvestwithease.harvest.BulkHarvester;
+import it.unimi.dsi.fastutil.longs.LongCollection;
 import net.minecraft.block.*;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
 import net.minecraft.item.ToolItem;
 import net.minecraft.item.ToolMaterial;
 import net.minecraft.item.ToolMaterials;
-import net.minecraft.registry.Registries;
-import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.state.property.IntProperty;
+import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.stream.Stream;
 
-import static crystalspider.harvestwithease.ModLoader.MOD_ID;
-
 /**
  * Utility class that serves as an API for mods interfacing with Harvest With Ease mod.
  */
 public final class HarvestWithEaseAPI {
-  /**
-   * Logger.
-   */
-  private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
-
   private HarvestWithEaseAPI() {
   }
 
@@ -41,7 +40,7 @@ public final class HarvestWithEaseAPI {
    * @return whether the given block is a valid breakable crop.
    */
   public static boolean isCrop(Block block) {
-    return block instanceof CropBlock || block instanceof NetherWartBlock || block instanceof CocoaBlock || block instanceof PitcherCropBlock || ModConfig.getCrops().contains(getKey(block));
+    return block instanceof CropBlock || block instanceof NetherWartBlock || block instanceof CocoaBlock || block instanceof PitcherCropBlock || CropBlocks.contains(block);
   }
 
   /**
@@ -54,6 +53,10 @@ public final class HarvestWithEaseAPI {
    * @throws ClassCastException if the age property is not an {@link IntProperty}.
    */
   public static IntProperty getAge(BlockState blockState) throws NullPointerException, NoSuchElementException, ClassCastException {
+    IntProperty age = CropTable.getAge(blockState);
+    if (age != null) {
+      return age;
+    }
     return (IntProperty) blockState.getProperties().stream().filter(property -> property.getName().equals("age")).findFirst().orElseThrow();
   }
 
@@ -65,6 +68,9 @@ public final class HarvestWithEaseAPI {
    * @return whether the given blockstate is a mature crop.
    */
   public static boolean isMature(BlockState blockState, IntProperty age) {
+    if (CropTable.getAge(blockState) == age) {
+      return CropTable.isMature(blockState);
+    }
     return blockState.getOrEmpty(age).orElse(0) >= Collections.max(age.getValues());
   }
 
@@ -78,9 +84,58 @@ public final class HarvestWithEaseAPI {
    * @throws ClassCastException if the age property is not an {@link IntProperty}.
    */
   public static boolean isMature(BlockState blockState) throws NullPointerException, NoSuchElementException, ClassCastException {
+    if (CropTable.isCrop(blockState)) {
+      return CropTable.isMature(blockState);
+    }
     return isMature(blockState, getAge(blockState));
   }
 
+  /**
+   * Sets the seed of the given crop, the item removed from the drops to simulate replanting.
+   * Needed only for crops whose block item is not their seed.
+   *
+   * @param crop crop {@link Block}.
+   * @param seed seed {@link Item}, {@code AIR} to never remove a seed from the drops.
+   */
+  public static void setSeed(Block crop, Item seed) {
+    SeedTable.setSeed(crop, seed);
+  }
+
+  /**
+   * Harvests all the mature crops within the given box, without a player, and returns their drops.
+   * <p>
+   * Meant for automation: crops are reset as with a right-click harvest, but no event is fired, no experience is granted, no tool is damaged, no sound is played and no item entity is spawned.
+   * Permission checks are up to the caller.
+   * At most {@link BulkHarvester#MAX_VOLUME} positions can be harvested at once, split larger areas across calls or ticks.
+   * Must be called from the server thread.
+   *
+   * @param world {@link ServerWorld} of the crops.
+   * @param box {@link BlockBox} to harvest, bounds included.
+   * @param tool {@link ItemStack} used to harvest, affects the drops.
+   * @param owner {@link ServerPlayerEntity} on whose behalf the crops are harvested, affects the drops, {@code null} if none.
+   * @return the drops, merged into as few stacks as possible.
+   * @throws IllegalArgumentException if the box contains more than {@link BulkHarvester#MAX_VOLUME} positions.
+   */
+  public static List<ItemStack> harvestArea(ServerWorld world, BlockBox box, ItemStack tool, @Nullable ServerPlayerEntity owner) throws IllegalArgumentException {
+    return BulkHarvester.harvest(world, box, tool, owner);
+  }
+
+  /**
+   * Harvests all the mature crops at the given positions, without a player, and returns their drops.
+   * <p>
+   * See {@link #harvestArea(ServerWorld, BlockBox, ItemStack, ServerPlayerEntity)} for more details.
+   *
+   * @param world {@link ServerWorld} of the crops.
+   * @param positions positions to harvest, packed with {@link BlockPos#asLong()}.
+   * @param tool {@link ItemStack} used to harvest, affects the drops.
+   * @param owner {@link ServerPlayerEntity} on whose behalf the crops are harvested, affects the drops, {@code null} if none.
+   * @return the drops, merged into as few stacks as possible.
+   * @throws IllegalArgumentException if more than {@link BulkHarvester#MAX_VOLUME} positions are given.
+   */
+  public static List<ItemStack> harvestArea(ServerWorld world, LongCollection positions, ItemStack tool, @Nullable ServerPlayerEntity owner) throws IllegalArgumentException {
+    return BulkHarvester.harvest(world, positions, tool, owner);
+  }
+
   /**
    * Checks whether the given crop is a multi-block crop (a crop made of multiple vertically connected blocks).
    *
@@ -100,9 +155,7 @@ public final class HarvestWithEaseAPI {
    * @return whether the given {@link ToolItem tool} is allowed to multi-harvest.
    */
   public static boolean isTierForMultiHarvest(ToolItem tool) {
-    ToolMaterial toolTier = tool.getMaterial();
-    String configTier = ModConfig.getMultiHarvestStartingTier();
-    return toolTier.getMiningLevel() >= getTierLevel(configTier);
+    return TierTable.getRadius(tool.getMaterial()) != TierTable.NO_RADIUS;
   }
 
   /**
@@ -167,19 +220,4 @@ public final class HarvestWithEaseAPI {
   public static boolean matchesTier(String tierRef, ToolMaterial tier) {
     return tier.toString().equalsIgnoreCase(tierRef);
   }
-
-  /**
-   * Returns the in-game ID of the block passed as parameter.
-   *
-   * @param block
-   * @return in-game ID of the given block.
-   */
-  private static String getKey(Block block) {
-    Optional<RegistryKey<Block>> key = Registries.BLOCK.getKey(block);
-    if (key.isPresent()) {
-      return key.get().getValue().toString();
-    }
-    LOGGER.debug("Couldn't get key for block [" + block + "].");
-    return "";
-  }
 }
@@ -0,0 +1,139 @@
+package crystalspider.harvestwithease.api.event;
+
+import net.minecraft.item.ItemStack;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Copy-on-write list of drops, sharing the default drops until they are accessed or modified.
+ * <p>
+ * Each default stack is copied only when first retrieved, so that listeners can freely modify it, and the whole list is copied only on the first structural change.
+ * Structural changes are tracked with a dirty flag, so checking whether the drops changed only compares the stacks that were actually retrieved.
+ */
+final class DropList extends AbstractList<ItemStack> implements RandomAccess {
+  /**
+   * Default drops, never exposed.
+   */
+  private final List<ItemStack> defaults;
+  /**
+   * Copies of the default stacks retrieved so far, {@code null} until the first is retrieved.
+   */
+  private ItemStack[] copies = null;
+  /**
+   * Modified list of drops, {@code null} until the first structural change.
+   */
+  private List<ItemStack> modified = null;
+
+  /**
+   * @param defaults {@link #defaults}.
+   */
+  DropList(List<ItemStack> defaults) {
+    this.defaults = defaults;
+  }
+
+  @Override
+  public ItemStack get(int index) {
+    if (modified != null) {
+      return modified.get(index);
+    }
+    ItemStack stack = defaults.get(index);
+    if (copies == null) {
+      copies = new ItemStack[defaults.size()];
+    }
+    if (copies[index] == null) {
+      copies[index] = stack.copy();
+    }
+    return copies[index];
+  }
+
+  @Override
+  public int size() {
+    return modified != null ? modified.size() : defaults.size();
+  }
+
+  @Override
+  public ItemStack set(int index, ItemStack element) {
+    return modify().set(index, element);
+  }
+
+  @Override
+  public void add(int index, ItemStack element) {
+    modify().add(index, element);
+    modCount++;
+  }
+
+  @Override
+  public ItemStack remove(int index) {
+    ItemStack removed = modify().remove(index);
+    modCount++;
+    return removed;
+  }
+
+  /**
+   * Checks whether the drops changed from the default drops.
+   *
+   * @return whether the drops changed from the default drops.
+   */
+  boolean isChanged() {
+    if (modified != null) {
+      return true;
+    }
+    if (copies != null) {
+      for (int index = 0; index < copies.length; index++) {
+        if (copies[index] != null && !ItemStack.areEqual(copies[index], defaults.get(index))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the default drops.
+   * The returned list must not be modified.
+   *
+   * @return the default drops.
+   */
+  List<ItemStack> getDefaults() {
+    return defaults;
+  }
+
+  /**
+   * Returns the current drops, without copying the default stacks that were never retrieved.
+   * The returned list must not be modified.
+   *
+   * @return the current drops.
+   */
+  List<ItemStack> unwrap() {
+    if (modified != null) {
+      return modified;
+    }
+    if (copies == null) {
+      return defaults;
+    }
+    List<ItemStack> drops = new ArrayList<>(defaults.size());
+    for (int index = 0; index < copies.length; index++) {
+      drops.add(copies[index] != null ? copies[index] : defaults.get(index));
+    }
+    return drops;
+  }
+
+  /**
+   * Switches to the modified list of drops, copying the stacks not yet retrieved on the first structural change.
+   *
+   * @return the modified list of drops.
+   */
+  private List<ItemStack> modify() {
+    if (modified == null) {
+      List<ItemStack> drops = new ArrayList<>(defaults.size());
+      for (int index = 0; index < defaults.size(); index++) {
+        drops.add(get(index));
+      }
+      modified = drops;
+    }
+    return modified;
+  }
+}
@@ -15,7 +15,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import static crystalspider.harvestwithease.ModLoader.MOD_ID;
@@ -33,9 +33,38 @@ public final class HarvestWithEaseEvents {
    */
   public static final Identifier DEFERRED_PHASE = new Identifier(MOD_ID, "deferred");
 
+  /**
+   * Invoker of {@link #HARVEST_CHECK} when it has no listeners.
+   */
+  private static final HarvestCheck NO_HARVEST_CHECK = (world, crop, pos, player, hand, first, event) -> event.canHarvest();
+  /**
+   * Invoker of {@link #BEFORE_HARVEST} when it has no listeners.
+   */
+  private static final BeforeHarvest NO_BEFORE_HARVEST = (world, crop, pos, face, result, player, hand, first) -> {};
+  /**
+   * Invoker of {@link #HARVEST_DROPS} when it has no listeners.
+   */
+  private static final HarvestDrops NO_HARVEST_DROPS = (world, crop, pos, face, result, player, hand, first, event) -> event.getDrops();
+  /**
+   * Invoker of {@link #AFTER_HARVEST} when it has no listeners.
+   */
+  private static final AfterHarvest NO_AFTER_HARVEST = (world, crop, pos, face, result, player, hand, first) -> {};
+  /**
+   * Invoker of {@link #AREA_HARVEST_CHECK} when it has no listeners.
+   */
+  private static final AreaHarvestCheck NO_AREA_HARVEST_CHECK = (world, center, player, hand, event) -> {};
+  /**
+   * Invoker of {@link #BEFORE_AREA_HARVEST} when it has no listeners.
+   */
+  private static final BeforeAreaHarvest NO_BEFORE_AREA_HARVEST = (world, center, player, hand, event) -> {};
+  /**
+   * Invoker of {@link #AFTER_AREA_HARVEST} when it has no listeners.
+   */
+  private static final AfterAreaHarvest NO_AFTER_AREA_HARVEST = (world, center, player, hand, event) -> {};
+
   public static final Event<HarvestCheck> HARVEST_CHECK = EventFactory.createWithPhases(
     HarvestCheck.class,
-    (listeners) -> (world, crop, pos, player, hand, first, event) -> {
+    (listeners) -> listeners.length == 0 ? NO_HARVEST_CHECK : (world, crop, pos, player, hand, first, event) -> {
       for (HarvestCheck listener : listeners) {
         event.setCanHarvest(listener.check(world, crop, pos, player, hand, first, event));
         if (event.isCanceled()) {
@@ -51,7 +80,7 @@ public final class HarvestWithEaseEvents {
 
   public static final Event<BeforeHarvest> BEFORE_HARVEST = EventFactory.createWithPhases(
     BeforeHarvest.class,
-    (listeners) -> (world, crop, pos, face, result, player, hand, first) -> {
+    (listeners) -> listeners.length == 0 ? NO_BEFORE_HARVEST : (world, crop, pos, face, result, player, hand, first) -> {
       for (BeforeHarvest listener : listeners) {
         listener.beforeHarvest(world, crop, pos, face, result, player, hand, first);
       }
@@ -63,7 +92,7 @@ public final class HarvestWithEaseEvents {
 
   public static final Event<HarvestDrops> HARVEST_DROPS = EventFactory.createWithPhases(
     HarvestDrops.class,
-    (listeners) -> (world, crop, pos, face, result, player, hand, first, event) -> {
+    (listeners) -> listeners.length == 0 ? NO_HARVEST_DROPS : (world, crop, pos, face, result, player, hand, first, event) -> {
       for (HarvestDrops listener : listeners) {
         event.setDrops(listener.getDrops(world, crop, pos, face, result, player, hand, first, event));
         if (event.isCanceled()) {
@@ -79,7 +108,7 @@ public final class HarvestWithEaseEvents {
 
   public static final Event<AfterHarvest> AFTER_HARVEST = EventFactory.createWithPhases(
     AfterHarvest.class,
-    (listeners) -> (world, crop, pos, face, result, player, hand, first) -> {
+    (listeners) -> listeners.length == 0 ? NO_AFTER_HARVEST : (world, crop, pos, face, result, player, hand, first) -> {
       for (AfterHarvest listener : listeners) {
         listener.afterHarvest(world, crop, pos, face, result, player, hand, first);
       }
@@ -89,9 +118,57 @@ public final class HarvestWithEaseEvents {
     DEFERRED_PHASE
   );
 
+  public static final Event<AreaHarvestCheck> AREA_HARVEST_CHECK = EventFactory.createWithPhases(
+    AreaHarvestCheck.class,
+    (listeners) -> listeners.length == 0 ? NO_AREA_HARVEST_CHECK : (world, center, player, hand, event) -> {
+      for (AreaHarvestCheck listener : listeners) {
+        listener.check(world, center, player, hand, event);
+      }
+    },
+    PRIORITY_PHASE,
+    Event.DEFAULT_PHASE,
+    DEFERRED_PHASE
+  );
+
+  public static final Event<BeforeAreaHarvest> BEFORE_AREA_HARVEST = EventFactory.createWithPhases(
+    BeforeAreaHarvest.class,
+    (listeners) -> listeners.length == 0 ? NO_BEFORE_AREA_HARVEST : (world, center, player, hand, event) -> {
+      for (BeforeAreaHarvest listener : listeners) {
+        listener.beforeAreaHarvest(world, center, player, hand, event);
+      }
+    },
+    PRIORITY_PHASE,
+    Event.DEFAULT_PHASE,
+    DEFERRED_PHASE
+  );
+
+  public static final Event<AfterAreaHarvest> AFTER_AREA_HARVEST = EventFactory.createWithPhases(
+    AfterAreaHarvest.class,
+    (listeners) -> listeners.length == 0 ? NO_AFTER_AREA_HARVEST : (world, center, player, hand, event) -> {
+      for (AfterAreaHarvest listener : listeners) {
+        listener.afterAreaHarvest(world, center, player, hand, event);
+      }
+    },
+    PRIORITY_PHASE,
+    Event.DEFAULT_PHASE,
+    DEFERRED_PHASE
+  );
+
   private HarvestWithEaseEvents() {
   }
 
+  /**
+   * Checks whether the given event has any listener.
+   * Per-crop and area events without listeners are skipped during multi-harvest, and {@link #HARVEST_DROPS} is always skipped when it has no listeners.
+   *
+   * @param event
+   * @return whether the given event has any listener.
+   */
+  public static boolean hasListeners(Event<?> event) {
+    Object invoker = event.invoker();
+    return invoker != NO_HARVEST_CHECK && invoker != NO_BEFORE_HARVEST && invoker != NO_HARVEST_DROPS && invoker != NO_AFTER_HARVEST && invoker != NO_AREA_HARVEST_CHECK && invoker != NO_BEFORE_AREA_HARVEST && invoker != NO_AFTER_AREA_HARVEST;
+  }
+
   @FunctionalInterface
   public interface HarvestCheck {
     /**
@@ -162,6 +239,50 @@ public final class HarvestWithEaseEvents {
     void afterHarvest(ServerWorld world, BlockState crop, BlockPos pos, Direction face, BlockHitResult result, ServerPlayerEntity player, Hand hand, boolean first);
   }
 
+  @FunctionalInterface
+  public interface AreaHarvestCheck {
+    /**
+     * Called once before a multi-harvest, to check which crops of the area can be harvested.
+     * Listeners can {@link AreaHarvestCheckEvent#veto(int) veto} single crops or the {@link AreaHarvestCheckEvent#vetoAll() whole area}.
+     *
+     * @param world {@link ServerWorld} of the interaction.
+     * @param center {@link BlockPos} of the right-clicked crop, at the center of the area.
+     * @param player {@link ServerPlayerEntity} harvesting the area.
+     * @param hand {@link Hand} used to harvest.
+     * @param event {@link AreaHarvestCheckEvent}.
+     */
+    void check(ServerWorld world, BlockPos center, ServerPlayerEntity player, Hand hand, AreaHarvestCheckEvent event);
+  }
+
+  @FunctionalInterface
+  public interface BeforeAreaHarvest {
+    /**
+     * Event fired once before multi-harvesting an area, after {@link #AREA_HARVEST_CHECK}.
+     *
+     * @param world {@link ServerWorld} of the interaction.
+     * @param center {@link BlockPos} of the right-clicked crop, at the center of the area.
+     * @param player {@link ServerPlayerEntity} harvesting the area.
+     * @param hand {@link Hand} used to harvest.
+     * @param event {@link AreaHarvestEvent}.
+     */
+    void beforeAreaHarvest(ServerWorld world, BlockPos center, ServerPlayerEntity player, Hand hand, AreaHarvestEvent event);
+  }
+
+  @FunctionalInterface
+  public interface AfterAreaHarvest {
+    /**
+     * Event fired once after multi-harvesting an area.
+     * Crops that were vetoed, could no longer be harvested or were not reached because the multi-harvest stopped early are all {@link AreaHarvestEvent#isVetoed(int) vetoed}.
+     *
+     * @param world {@link ServerWorld} of the interaction.
+     * @param center {@link BlockPos} of the right-clicked crop, at the center of the area.
+     * @param player {@link ServerPlayerEntity} harvesting the area.
+     * @param hand {@link Hand} used to harvest.
+     * @param event {@link AreaHarvestEvent}.
+     */
+    void afterAreaHarvest(ServerWorld world, BlockPos center, ServerPlayerEntity player, Hand hand, AreaHarvestEvent event);
+  }
+
   /**
    * Base class for Harvest With Ease mod events.
    */
@@ -240,13 +361,15 @@ public final class HarvestWithEaseEvents {
   public static class HarvestDropsEvent extends HarvestWithEaseEvent {
     /**
      * List of drops.
+     * <p>
+     * Initially {@link #dropList}, until a listener returns a different list.
      */
     private List<ItemStack> drops;
 
     /**
-     * Reference to the default drops.
+     * Copy-on-write list of the default drops: default stacks are copied only when retrieved, and the list is copied only when first modified.
      */
-    private final List<ItemStack> defaultDrops;
+    private final DropList dropList;
 
     /**
      * @param world {@link World} of the interaction.
@@ -256,16 +379,27 @@ public final class HarvestWithEaseEvents {
      * @param hand {@link Hand} used to harvest.
      */
     public HarvestDropsEvent(ServerWorld world, BlockState crop, BlockPos pos, ServerPlayerEntity player, Hand hand) {
-      defaultDrops = initDrops(world, crop, pos, player, hand);
-      drops = new ArrayList<>(defaultDrops.stream().map(ItemStack::copy).toList());
+      this(initDrops(world, crop, pos, player, hand));
+    }
+
+    /**
+     * @param defaultDrops default drops, with one seed already removed. The event takes ownership of the list.
+     */
+    public HarvestDropsEvent(List<ItemStack> defaultDrops) {
+      drops = dropList = new DropList(defaultDrops);
     }
 
     /**
      * Returns whether the list of drops changed from its default value.
+     * Only lists returned by listeners in place of {@link #dropList} are compared stack by stack.
      *
      * @return whether the list of drops changed from its default value.
      */
     public boolean haveDropsChanged() {
+      if (drops == dropList) {
+        return dropList.isChanged();
+      }
+      List<ItemStack> defaultDrops = dropList.getDefaults();
       if (defaultDrops.size() == drops.size()) {
         for (int c = 0; c < defaultDrops.size(); c++) {
           if (!ItemStack.areEqual(defaultDrops.get(c), drops.get(c))) {
@@ -277,6 +411,16 @@ public final class HarvestWithEaseEvents {
       return true;
     }
 
+    /**
+     * Returns the drops to drop, without copying the default stacks no listener retrieved.
+     * The returned list must not be modified.
+     *
+     * @return the drops to drop.
+     */
+    public List<ItemStack> getFinalDrops() {
+      return drops == dropList ? dropList.unwrap() : drops;
+    }
+
     /**
      * Returns this {@link #drops}.
      *
@@ -292,11 +436,16 @@ public final class HarvestWithEaseEvents {
     }
 
     /**
-     * Initializes the drops list.
+     * Computes the default drops.
      *
+     * @param world {@link ServerWorld} of the crop.
+     * @param crop {@link BlockState} of the crop.
+     * @param pos {@link BlockPos} of the crop.
+     * @param player {@link ServerPlayerEntity} trying to harvest the crop.
+     * @param hand {@link Hand} used to harvest.
      * @return the list of drops a player would get by breaking the crop, with one seed removed.
      */
-    private List<ItemStack> initDrops(ServerWorld world, BlockState crop, BlockPos pos, ServerPlayerEntity player, Hand hand) {
+    private static List<ItemStack> initDrops(ServerWorld world, BlockState crop, BlockPos pos, ServerPlayerEntity player, Hand hand) {
       List<ItemStack> drops = Block.getDroppedStacks(crop, world, pos, crop.hasBlockEntity() ? world.getBlockEntity(pos) : null, player, player.getStackInHand(hand));
       boolean seedRemoved = false;
       for (ItemStack stack : drops) {
@@ -320,4 +469,105 @@ public final class HarvestWithEaseEvents {
       }
     }
   }
+
+  /**
+   * Event carrying all the crops of a multi-harvest, the right-clicked crop at the center excluded, so that listeners can handle the whole area in a single pass.
+   * Crops are identified by their index, from {@code 0} to {@link #size()} excluded.
+   * <p>
+   * Read-only, crops can be vetoed only through {@link AreaHarvestCheckEvent}.
+   */
+  public static class AreaHarvestEvent {
+    /**
+     * Positions of the crops, packed with {@link BlockPos#asLong()}.
+     */
+    private final long[] positions;
+    /**
+     * Raw ids of the states of the crops, as given by {@link Block#getRawIdFromState(BlockState)}.
+     */
+    private final int[] states;
+    /**
+     * Indexes of the vetoed crops.
+     */
+    protected final BitSet vetoed;
+
+    /**
+     * @param positions {@link #positions}.
+     * @param states {@link #states}.
+     * @param vetoed {@link #vetoed}.
+     */
+    public AreaHarvestEvent(long[] positions, int[] states, BitSet vetoed) {
+      this.positions = positions;
+      this.states = states;
+      this.vetoed = vetoed;
+    }
+
+    /**
+     * Returns the number of crops in the area.
+     *
+     * @return the number of crops in the area.
+     */
+    public int size() {
+      return positions.length;
+    }
+
+    /**
+     * Returns the position of the crop at the given index.
+     *
+     * @param index
+     * @return the {@link BlockPos} of the crop.
+     */
+    public BlockPos getPos(int index) {
+      return BlockPos.fromLong(positions[index]);
+    }
+
+    /**
+     * Returns the state of the crop at the given index when the multi-harvest was planned.
+     *
+     * @param index
+     * @return the {@link BlockState} of the crop.
+     */
+    public BlockState getState(int index) {
+      return Block.getStateFromRawId(states[index]);
+    }
+
+    /**
+     * Checks whether the crop at the given index is vetoed.
+     *
+     * @param index
+     * @return whether the crop is vetoed.
+     */
+    public boolean isVetoed(int index) {
+      return vetoed.get(index);
+    }
+  }
+
+  /**
+   * {@link AreaHarvestEvent} of {@link #AREA_HARVEST_CHECK}, allowing listeners to veto crops.
+   */
+  public static class AreaHarvestCheckEvent extends AreaHarvestEvent {
+    /**
+     * @param positions positions of the crops, packed with {@link BlockPos#asLong()}.
+     * @param states raw ids of the states of the crops, as given by {@link Block#getRawIdFromState(BlockState)}.
+     * @param vetoed indexes of the vetoed crops, updated by {@link #veto(int)} and {@link #vetoAll()}.
+     */
+    public AreaHarvestCheckEvent(long[] positions, int[] states, BitSet vetoed) {
+      super(positions, states, vetoed);
+    }
+
+    /**
+     * Vetoes the crop at the given index, so that it won't be harvested.
+     *
+     * @param index
+     */
+    public void veto(int index) {
+      vetoed.set(index);
+    }
+
+    /**
+     * Vetoes all the crops of the area, so that none will be harvested.
+     */
+    public void vetoAll() {
+      vetoed.set(0, size());
+    }
+  }
 }
@@ -0,0 +1,221 @@
+package crystalspider.harvestwithease.cache;
+
+import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.state.property.IntProperty;
+import net.minecraft.state.property.Property;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Compiled table of all crop {@link BlockState block states}, indexed by their global id in {@link Block#STATE_IDS}.
+ * <p>
+ * The table is built lazily on first use and dropped on every config or tag reload, so that checking whether a state is a mature crop is a plain array lookup.
+ */
+public final class CropTable {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+
+  /**
+   * Flag for the states of a crop that has a valid age property.
+   */
+  public static final byte CROP = 1;
+  /**
+   * Flag for the crop states at their max age.
+   */
+  public static final byte MATURE = 1 << 1;
+  /**
+   * Flag for the crop states that may be part of a multi-block crop.
+   */
+  public static final byte TALL = 1 << 2;
+
+  /**
+   * Current table, {@code null} if it needs to be (re)built.
+   */
+  private static volatile CropTable table = null;
+
+  /**
+   * Flags of each block state, see {@link #CROP}, {@link #MATURE} and {@link #TALL}.
+   */
+  private final byte[] flags;
+  /**
+   * Age property of each crop state.
+   */
+  private final IntProperty[] ages;
+  /**
+   * Max age of each crop state.
+   */
+  private final int[] maxAges;
+  /**
+   * State each crop state reverts to once harvested.
+   */
+  private final BlockState[] resetStates;
+
+  /**
+   * Compiles the table from all the block states currently registered.
+   */
+  private CropTable() {
+    int size = 0;
+    for (BlockState state : Block.STATE_IDS) {
+      size = Math.max(size, Block.getRawIdFromState(state) + 1);
+    }
+    flags = new byte[size];
+    ages = new IntProperty[size];
+    maxAges = new int[size];
+    resetStates = new BlockState[size];
+    for (BlockState state : Block.STATE_IDS) {
+      Block block = state.getBlock();
+      if (HarvestWithEaseAPI.isCrop(block)) {
+        IntProperty age = findAge(state);
+        if (age != null) {
+          int id = Block.getRawIdFromState(state);
+          maxAges[id] = Collections.max(age.getValues());
+          ages[id] = age;
+          resetStates[id] = block == Blocks.PITCHER_CROP ? Blocks.AIR.getDefaultState() : state.with(age, Collections.min(age.getValues()));
+          flags[id] = (byte) (CROP | (state.get(age) >= maxAges[id] ? MATURE : 0) | (state.isIn(BlockTags.CROPS) && !isTallButSeparate(block) ? TALL : 0));
+        } else if (state == block.getDefaultState()) {
+          LOGGER.debug("Crop [" + block + "] has no integer age property and will be ignored. Most probably a non-crop ID was added in the configuration.");
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the current table, building it if needed.
+   *
+   * @return the current {@link CropTable}.
+   */
+  private static CropTable get() {
+    CropTable current = table;
+    if (current == null) {
+      table = current = new CropTable();
+    }
+    return current;
+  }
+
+  /**
+   * Drops the current table so that it will be rebuilt on next use.
+   */
+  public static void invalidate() {
+    table = null;
+  }
+
+  /**
+   * Returns the flags of the given state.
+   *
+   * @param state
+   * @return the flags of the given state, {@code 0} if it's not a crop.
+   */
+  public static byte getFlags(BlockState state) {
+    CropTable current = get();
+    int id = Block.getRawIdFromState(state);
+    return id >= 0 && id < current.flags.length ? current.flags[id] : 0;
+  }
+
+  /**
+   * Checks whether the given state is a crop with a valid age property.
+   *
+   * @param state
+   * @return whether the given state is a crop.
+   */
+  public static boolean isCrop(BlockState state) {
+    return (getFlags(state) & CROP) != 0;
+  }
+
+  /**
+   * Checks whether the given state is a fully grown crop.
+   *
+   * @param state
+   * @return whether the given state is a mature crop.
+   */
+  public static boolean isMature(BlockState state) {
+    return (getFlags(state) & MATURE) != 0;
+  }
+
+  /**
+   * Checks whether the given state is a crop that may be part of a multi-block crop.
+   *
+   * @param state
+   * @return whether the given state may be part of a tall crop.
+   */
+  public static boolean isTall(BlockState state) {
+    return (getFlags(state) & TALL) != 0;
+  }
+
+  /**
+   * Returns the age property of the given crop state.
+   *
+   * @param state
+   * @return the age property of the given state, {@code null} if it's not a crop.
+   */
+  @Nullable
+  public static IntProperty getAge(BlockState state) {
+    CropTable current = get();
+    int id = Block.getRawIdFromState(state);
+    return id >= 0 && id < current.ages.length ? current.ages[id] : null;
+  }
+
+  /**
+   * Returns the max age of the given crop state.
+   *
+   * @param state
+   * @return the max age of the given state, {@code 0} if it's not a crop.
+   */
+  public static int getMaxAge(BlockState state) {
+    CropTable current = get();
+    int id = Block.getRawIdFromState(state);
+    return id >= 0 && id < current.maxAges.length ? current.maxAges[id] : 0;
+  }
+
+  /**
+   * Returns the state the given crop state reverts to once harvested.
+   *
+   * @param state
+   * @return the reset state of the given state, {@code null} if it's not a crop.
+   */
+  @Nullable
+  public static BlockState getResetState(BlockState state) {
+    CropTable current = get();
+    int id = Block.getRawIdFromState(state);
+    return id >= 0 && id < current.resetStates.length ? current.resetStates[id] : null;
+  }
+
+  /**
+   * Looks for the age property of the given state.
+   *
+   * @param state
+   * @return the age property, {@code null} if missing or not an {@link IntProperty}.
+   */
+  @Nullable
+  private static IntProperty findAge(BlockState state) {
+    for (Property<?> property : state.getProperties()) {
+      if (property.getName().equals("age")) {
+        return property instanceof IntProperty age ? age : null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks whether the given block is something that might be considered a tall crop, but should actually be treated as a normal crop.
+   * <p>
+   * Currently, the only known crop with this behavior is Farmer's Delight tomatoes.
+   *
+   * @param block
+   * @return whether to treat a tall crop as a normal crop.
+   */
+  private static boolean isTallButSeparate(Block block) {
+    return Registries.BLOCK.getKey(block).map(blockRegistryKey -> blockRegistryKey.getValue().toString().equals("farmersdelight:tomatoes")).orElse(false);
+  }
+}
@@ -0,0 +1,84 @@
+package crystalspider.harvestwithease.cache;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of the seed {@link Item} of each crop {@link Block}, the item removed from the drops to simulate replanting.
+ * <p>
+ * The seed of a crop is the item of its block, or its pick item if it has none, unless overridden with {@link #setSeed(Block, Item)}.
+ * Seeds are resolved once per block on first harvest and dropped on every config or tag reload, overrides are kept.
+ */
+public final class SeedTable {
+  /**
+   * Seeds explicitly set for crops whose resolved seed is not their seed.
+   */
+  private static final Map<Block, Item> overrides = new ConcurrentHashMap<>();
+
+  /**
+   * Seeds resolved so far, replaced on every reload.
+   */
+  private static volatile Reference2ObjectOpenHashMap<Block, Item> seeds = new Reference2ObjectOpenHashMap<>();
+
+  private SeedTable() {
+  }
+
+  /**
+   * Returns the seed of the given crop, resolving it if needed.
+   * The seed is the item of the crop block, falling back to the crop pick item only when a player is harvesting, since the pick item may depend on the crop position.
+   * Seeds that could not be resolved without a player are not cached.
+   *
+   * @param world {@link ServerWorld} of the crop.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param player {@link ServerPlayerEntity} harvesting the crop, {@code null} if harvesting without a player.
+   * @return the seed {@link Item} of the crop, {@link Items#AIR} if none.
+   */
+  public static Item getSeed(ServerWorld world, BlockState blockState, BlockPos blockPos, @Nullable ServerPlayerEntity player) {
+    Block block = blockState.getBlock();
+    Reference2ObjectOpenHashMap<Block, Item> current = seeds;
+    Item seed = current.get(block);
+    if (seed == null) {
+      seed = overrides.get(block);
+      if (seed == null) {
+        seed = block.asItem();
+        if (seed == Items.AIR) {
+          if (player == null) {
+            return seed;
+          }
+          seed = block.getPickStack(world, blockPos, blockState).getItem();
+        }
+      }
+      current.put(block, seed);
+    }
+    return seed;
+  }
+
+  /**
+   * Sets the seed of the given crop, overriding the resolved one.
+   *
+   * @param block crop {@link Block}.
+   * @param seed seed {@link Item}, {@link Items#AIR} to never remove a seed from the drops.
+   */
+  public static void setSeed(Block block, Item seed) {
+    overrides.put(block, seed);
+    invalidate();
+  }
+
+  /**
+   * Drops all the resolved seeds so that they will be resolved again on next use.
+   */
+  public static void invalidate() {
+    seeds = new Reference2ObjectOpenHashMap<>();
+  }
+}
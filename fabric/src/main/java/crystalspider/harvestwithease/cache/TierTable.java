@@ -0,0 +1,104 @@
+package crystalspider.harvestwithease.cache;
+
+import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
+import crystalspider.harvestwithease.config.HarvestSettings;
+import crystalspider.harvestwithease.config.ModConfig;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.item.ToolMaterial;
+import net.minecraft.item.ToolMaterials;
+
+/**
+ * Compiled table of the multi-harvest radius of every Vanilla {@link ToolMaterial}.
+ * <p>
+ * The table is built lazily on first use and dropped on every config reload, so that resolving the harvest area of a tool is a single map lookup.
+ * Materials added by other mods are not known in advance and have their radius computed from their mining level on the fly.
+ */
+public final class TierTable {
+  /**
+   * Value of {@link #getRadius(ToolMaterial)} for tiers that cannot multi-harvest.
+   */
+  public static final int NO_RADIUS = -1;
+
+  /**
+   * Current table, {@code null} if it needs to be (re)built.
+   */
+  private static volatile TierTable table = null;
+
+  /**
+   * Multi-harvest radius (from center to edge) of each Vanilla tier.
+   */
+  private final Reference2IntOpenHashMap<ToolMaterial> radii = new Reference2IntOpenHashMap<>();
+  /**
+   * {@link HarvestSettings} the radii were computed with.
+   */
+  private final HarvestSettings settings;
+  /**
+   * Level of the configured {@link HarvestSettings#multiHarvestStartingTier() starting tier}.
+   */
+  private final int startingLevel;
+
+  /**
+   * Compiles the table from the Vanilla tiers and the given settings.
+   *
+   * @param settings
+   */
+  private TierTable(HarvestSettings settings) {
+    this.settings = settings;
+    startingLevel = HarvestWithEaseAPI.getTierLevel(settings.multiHarvestStartingTier());
+    radii.defaultReturnValue(NO_RADIUS);
+    for (ToolMaterial tier : ToolMaterials.values()) {
+      radii.put(tier, computeRadius(tier));
+    }
+  }
+
+  /**
+   * Returns the current table, building it if needed.
+   *
+   * @return the current {@link TierTable}.
+   */
+  private static TierTable get() {
+    TierTable current = table;
+    if (current == null) {
+      table = current = new TierTable(ModConfig.getSettings());
+    }
+    return current;
+  }
+
+  /**
+   * Drops the current table so that it will be rebuilt on next use.
+   */
+  public static void invalidate() {
+    table = null;
+  }
+
+  /**
+   * Returns the level of the configured {@link HarvestSettings#multiHarvestStartingTier() starting tier}.
+   *
+   * @return the level of the configured starting tier, {@code -1} if {@code "none"}.
+   */
+  public static int getStartingLevel() {
+    return get().startingLevel;
+  }
+
+  /**
+   * Returns the multi-harvest radius (from center to edge of the square area) of the given tier.
+   *
+   * @param tier
+   * @return the multi-harvest radius of the given tier, {@link #NO_RADIUS} if the tier cannot multi-harvest.
+   */
+  public static int getRadius(ToolMaterial tier) {
+    TierTable current = get();
+    return current.radii.containsKey(tier) ? current.radii.getInt(tier) : current.computeRadius(tier);
+  }
+
+  /**
+   * Computes the multi-harvest radius of the given tier.
+   *
+   * @param tier
+   * @return the multi-harvest radius of the given tier, {@link #NO_RADIUS} if the tier cannot multi-harvest.
+   */
+  private int computeRadius(ToolMaterial tier) {
+    int level = HarvestWithEaseAPI.getTierLevel(tier);
+    return level >= startingLevel ? ((level - startingLevel) * settings.areaIncrementStep().step + settings.areaStartingSize().size - 1) / 2 : NO_RADIUS;
+  }
+}
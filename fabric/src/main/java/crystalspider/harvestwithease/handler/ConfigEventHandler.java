@@ -0,0 +1,33 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.cache.CropBlocks;
+import crystalspider.harvestwithease.cache.CropTable;
+import crystalspider.harvestwithease.cache.SeedTable;
+import crystalspider.harvestwithease.cache.TierTable;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.harvest.HarvestGovernor;
+import fuzs.forgeconfigapiport.api.config.v3.ModConfigEvents;
+
+/**
+ * {@link ModConfigEvents} event handler.
+ * Handles the {@link ModConfigEvents#loading(String)} and {@link ModConfigEvents#reloading(String)} events to refresh everything computed from the configuration.
+ * See {@link #handle(net.neoforged.fml.config.ModConfig)} for more details.
+ */
+public final class ConfigEventHandler {
+  /**
+   * Handles the {@link ModConfigEvents#loading(String)} and {@link ModConfigEvents#reloading(String)} events.
+   * Refreshes everything computed from the configuration, if the event concerns this mod configuration.
+   *
+   * @param config
+   */
+  public static void handle(net.neoforged.fml.config.ModConfig config) {
+    if (config.getSpec() == ModConfig.SPEC) {
+      ModConfig.refresh();
+      HarvestGovernor.validate(ModConfig.getSettings());
+      CropBlocks.invalidate();
+      CropTable.invalidate();
+      SeedTable.invalidate();
+      TierTable.invalidate();
+    }
+  }
+}
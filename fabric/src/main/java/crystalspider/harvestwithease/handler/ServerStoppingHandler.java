@@ -0,0 +1,21 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.harvest.HarvestQueue;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * {@link ServerLifecycleEvents#SERVER_STOPPING} event handler.
+ * Handles the {@link ServerLifecycleEvents#SERVER_STOPPING} event to drop any pending deferred multi-harvest.
+ * See {@link #handle(MinecraftServer)} for more details.
+ */
+public final class ServerStoppingHandler {
+  /**
+   * Handles the {@link ServerLifecycleEvents#SERVER_STOPPING} event.
+   *
+   * @param server
+   */
+  public static void handle(MinecraftServer server) {
+    HarvestQueue.clear();
+  }
+}
@@ -0,0 +1,26 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.harvest.HarvestGovernor;
+import crystalspider.harvestwithease.harvest.HarvestMetrics;
+import crystalspider.harvestwithease.harvest.HarvestQueue;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * {@link ServerTickEvents#END_SERVER_TICK} event handler.
+ * Handles the {@link ServerTickEvents#END_SERVER_TICK} event to update the multi-harvest load governor, execute the deferred multi-harvests and report the multi-harvest metrics.
+ * See {@link #handle(MinecraftServer)} for more details.
+ */
+public final class ServerTickHandler {
+  /**
+   * Handles the {@link ServerTickEvents#END_SERVER_TICK} event.
+   * At the end of each server tick, updates the {@link HarvestGovernor}, executes the deferred multi-harvests within the configured budget and periodically reports the {@link HarvestMetrics}.
+   *
+   * @param server
+   */
+  public static void handle(MinecraftServer server) {
+    HarvestGovernor.update(server);
+    HarvestQueue.tick();
+    HarvestMetrics.report(server);
+  }
+}
@@ -0,0 +1,24 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.cache.CropTable;
+import crystalspider.harvestwithease.cache.SeedTable;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.minecraft.registry.DynamicRegistryManager;
+
+/**
+ * {@link CommonLifecycleEvents#TAGS_LOADED} event handler.
+ * Handles the {@link CommonLifecycleEvents#TAGS_LOADED} event to refresh everything computed from tags and registries.
+ * See {@link #handle(DynamicRegistryManager, boolean)} for more details.
+ */
+public final class TagsLoadedHandler {
+  /**
+   * Handles the {@link CommonLifecycleEvents#TAGS_LOADED} event.
+   *
+   * @param registries
+   * @param client
+   */
+  public static void handle(DynamicRegistryManager registries, boolean client) {
+    CropTable.invalidate();
+    SeedTable.invalidate();
+  }
+}
@@ -0,0 +1,135 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.cache.CropTable;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads the block states of a single-layer multi-harvest area, one {@link ChunkSection} at a time.
+ * <p>
+ * Each section crossed by the area is resolved once, on the first tile falling into it, and its palette is checked for any mature crop state.
+ * Sections that can't hold any are skipped altogether, so that their tiles never cost a block state read.
+ * Only chunks that are already loaded are read, tiles in any other chunk are skipped and counted, see {@link #getUnloadedTiles()}.
+ */
+public final class AreaScanner {
+  /**
+   * Status of sections not resolved yet.
+   */
+  private static final byte UNRESOLVED = 0;
+  /**
+   * Status of sections that have been resolved.
+   */
+  private static final byte RESOLVED = 1;
+  /**
+   * Status of sections in chunks that are not loaded.
+   */
+  private static final byte UNLOADED = 2;
+
+  /**
+   * {@link World} of the area.
+   */
+  private final World world;
+  /**
+   * Index of the sections crossed by the area, {@code -1} if outside the build height.
+   */
+  private final int sectionIndex;
+  /**
+   * Smallest chunk X coordinate crossed by the area.
+   */
+  private final int minChunkX;
+  /**
+   * Smallest chunk Z coordinate crossed by the area.
+   */
+  private final int minChunkZ;
+  /**
+   * Number of chunks crossed by the area along the Z axis.
+   */
+  private final int depth;
+  /**
+   * Sections resolved so far, {@code null} if they can't hold a mature crop.
+   */
+  private final ChunkSection[] sections;
+  /**
+   * Status of each section, see {@link #UNRESOLVED}, {@link #RESOLVED} and {@link #UNLOADED}.
+   */
+  private final byte[] statuses;
+  /**
+   * Number of tiles skipped so far because their chunk is not loaded.
+   */
+  private int unloadedTiles = 0;
+
+  /**
+   * @param world {@link #world}.
+   * @param center center of the area.
+   * @param radius distance from the center to the edges of the square area.
+   */
+  public AreaScanner(World world, BlockPos center, int radius) {
+    this.world = world;
+    this.sectionIndex = world.isOutOfHeightLimit(center.getY()) ? -1 : world.getSectionIndex(center.getY());
+    this.minChunkX = ChunkSectionPos.getSectionCoord(center.getX() - radius);
+    this.minChunkZ = ChunkSectionPos.getSectionCoord(center.getZ() - radius);
+    int width = ChunkSectionPos.getSectionCoord(center.getX() + radius) - minChunkX + 1;
+    this.depth = ChunkSectionPos.getSectionCoord(center.getZ() + radius) - minChunkZ + 1;
+    this.sections = new ChunkSection[width * depth];
+    this.statuses = new byte[width * depth];
+  }
+
+  /**
+   * Returns the number of tiles skipped so far because their chunk is not loaded.
+   *
+   * @return the number of unloaded tiles read so far.
+   */
+  public int getUnloadedTiles() {
+    return unloadedTiles;
+  }
+
+  /**
+   * Returns the block state at the given position, if its section might hold a mature crop.
+   * <p>
+   * The position must be within the area and on its layer.
+   *
+   * @param pos
+   * @return the block state at the given position, {@code null} if its section can't hold a mature crop or its chunk is not loaded.
+   */
+  @Nullable
+  public BlockState getBlockState(BlockPos pos) {
+    int chunkX = ChunkSectionPos.getSectionCoord(pos.getX()), chunkZ = ChunkSectionPos.getSectionCoord(pos.getZ());
+    int index = (chunkX - minChunkX) * depth + chunkZ - minChunkZ;
+    if (statuses[index] == UNRESOLVED) {
+      resolve(index, chunkX, chunkZ);
+    }
+    if (statuses[index] == UNLOADED) {
+      unloadedTiles++;
+      return null;
+    }
+    ChunkSection section = sections[index];
+    return section != null ? section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15) : null;
+  }
+
+  /**
+   * Resolves the section of the area in the given chunk, without loading the chunk if it's not loaded already.
+   *
+   * @param index index of the section.
+   * @param chunkX
+   * @param chunkZ
+   */
+  private void resolve(int index, int chunkX, int chunkZ) {
+    statuses[index] = RESOLVED;
+    if (sectionIndex >= 0) {
+      WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+      if (chunk == null) {
+        statuses[index] = UNLOADED;
+      } else {
+        ChunkSection section = chunk.getSection(sectionIndex);
+        if (!section.isEmpty() && section.hasAny(CropTable::isMature)) {
+          sections[index] = section;
+        }
+      }
+    }
+  }
+}
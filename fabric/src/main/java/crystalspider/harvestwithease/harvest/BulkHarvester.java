@@ -0,0 +1,102 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.cache.CropTable;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Harvests many crops at once without a player, for automation.
+ * <p>
+ * Every mature crop is harvested as in a multi-harvest, but without any event, experience, tool damage or sound, and its drops are merged and returned rather than spawned.
+ * Crops in chunks that are not loaded and crops claimed by a pending multi-harvest are skipped.
+ * Only meant to be used from the server thread.
+ * <p>
+ * A single call covers at most {@link #MAX_VOLUME} positions, so that automation can't stall the server tick with one huge area.
+ */
+public final class BulkHarvester {
+  /**
+   * Maximum number of positions a single call can harvest, the volume of a {@code 32x32x32} box.
+   */
+  public static final int MAX_VOLUME = 32768;
+
+  private BulkHarvester() {
+  }
+
+  /**
+   * Harvests all the mature crops within the given box.
+   *
+   * @param world {@link ServerWorld} of the crops.
+   * @param box {@link BlockBox} to harvest, bounds included.
+   * @param tool {@link ItemStack} used to harvest.
+   * @param owner {@link ServerPlayerEntity} on whose behalf the crops are harvested, {@code null} if none.
+   * @return the merged drops.
+   * @throws IllegalArgumentException if the box contains more than {@link #MAX_VOLUME} positions.
+   */
+  public static List<ItemStack> harvest(ServerWorld world, BlockBox box, ItemStack tool, @Nullable ServerPlayerEntity owner) throws IllegalArgumentException {
+    long volume = (long) box.getBlockCountX() * box.getBlockCountY() * box.getBlockCountZ();
+    if (volume > MAX_VOLUME) {
+      throw new IllegalArgumentException("Cannot harvest " + volume + " positions at once, the maximum is " + MAX_VOLUME);
+    }
+    DropCollector collector = DropCollector.merging();
+    CropLoot loot = CropLoot.of(world, owner, tool);
+    BlockPos.Mutable pos = new BlockPos.Mutable();
+    for (int x = box.getMinX(); x <= box.getMaxX(); x++) {
+      for (int z = box.getMinZ(); z <= box.getMaxZ(); z++) {
+        for (int y = box.getMinY(); y <= box.getMaxY(); y++) {
+          harvest(world, pos.set(x, y, z), loot, owner, collector);
+        }
+      }
+    }
+    return collector.drain();
+  }
+
+  /**
+   * Harvests all the mature crops at the given positions.
+   *
+   * @param world {@link ServerWorld} of the crops.
+   * @param positions positions to harvest, packed with {@link BlockPos#asLong()}.
+   * @param tool {@link ItemStack} used to harvest.
+   * @param owner {@link ServerPlayerEntity} on whose behalf the crops are harvested, {@code null} if none.
+   * @return the merged drops.
+   * @throws IllegalArgumentException if more than {@link #MAX_VOLUME} positions are given.
+   */
+  public static List<ItemStack> harvest(ServerWorld world, LongCollection positions, ItemStack tool, @Nullable ServerPlayerEntity owner) throws IllegalArgumentException {
+    if (positions.size() > MAX_VOLUME) {
+      throw new IllegalArgumentException("Cannot harvest " + positions.size() + " positions at once, the maximum is " + MAX_VOLUME);
+    }
+    DropCollector collector = DropCollector.merging();
+    CropLoot loot = CropLoot.of(world, owner, tool);
+    BlockPos.Mutable pos = new BlockPos.Mutable();
+    for (LongIterator iterator = positions.iterator(); iterator.hasNext(); ) {
+      harvest(world, pos.set(iterator.nextLong()), loot, owner, collector);
+    }
+    return collector.drain();
+  }
+
+  /**
+   * Harvests the crop at the given position, if it's a mature crop in a loaded chunk and not claimed by a pending multi-harvest.
+   *
+   * @param world {@link ServerWorld} of the crop.
+   * @param pos {@link BlockPos.Mutable} of the crop.
+   * @param loot {@link CropLoot} to compute the drops with.
+   * @param owner {@link ServerPlayerEntity} on whose behalf the crop is harvested, {@code null} if none.
+   * @param collector {@link DropCollector} to collect the drops into.
+   */
+  private static void harvest(ServerWorld world, BlockPos.Mutable pos, CropLoot loot, @Nullable ServerPlayerEntity owner, DropCollector collector) {
+    if (world.isChunkLoaded(pos) && !HarvestQueue.isClaimed(world, pos.asLong())) {
+      BlockState state = world.getBlockState(pos);
+      if (CropTable.isMature(state)) {
+        CropHarvester.harvest(world, state, pos.toImmutable(), loot, owner, collector);
+      }
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.cache.SeedTable;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Computes the default drops of a right-click harvest.
+ */
+public final class CropDrops {
+  private CropDrops() {
+  }
+
+  /**
+   * Returns the list of drops breaking the crop would give, with one {@link SeedTable#getSeed seed} removed to simulate replanting.
+   *
+   * @param loot {@link CropLoot} of the harvest.
+   * @param world {@link ServerWorld} of the interaction.
+   * @param crop {@link BlockState} of the crop being harvested.
+   * @param pos {@link BlockPos} of the crop being harvested.
+   * @param player {@link ServerPlayerEntity} harvesting the crop, {@code null} if harvesting without a player.
+   * @return the default drops of the harvest.
+   */
+  public static List<ItemStack> getDrops(CropLoot loot, ServerWorld world, BlockState crop, BlockPos pos, @Nullable ServerPlayerEntity player) {
+    List<ItemStack> drops = loot.getDrops(crop, pos, crop.hasBlockEntity() ? world.getBlockEntity(pos) : null);
+    Item seed = SeedTable.getSeed(world, crop, pos, player);
+    for (ItemStack stack : drops) {
+      if (stack.getItem() == seed) {
+        stack.decrement(1);
+        break;
+      }
+    }
+    return drops;
+  }
+}
@@ -0,0 +1,290 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents.HarvestDrops;
+import crystalspider.harvestwithease.cache.CropTable;
+import crystalspider.harvestwithease.config.HarvestSettings;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.BlockSoundGroup;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.util.Hand;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.shape.VoxelShapes;
+import net.minecraft.world.World;
+import net.minecraft.world.event.GameEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Harvests single crops on behalf of a player, taking care of all related actions (exp granting, hoe damaging, dropping resources, etc.) and dispatching all related events.
+ */
+public final class CropHarvester {
+  /**
+   * Update flags used to reset crops harvested as part of an area: clients are still notified (changes are batched per chunk section each tick), but no neighbor or shape updates are triggered.
+   */
+  private static final int AREA_UPDATE_FLAGS = Block.NOTIFY_LISTENERS | Block.FORCE_STATE;
+
+  private CropHarvester() {
+  }
+
+  /**
+   * Harvests the crop, handles all related actions (exp granting, hoe damaging, dropping resources, etc.) and dispatches all related events.
+   *
+   * @param world {@link ServerWorld world}.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param face clicked {@link Direction face} of the crop block.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} for crops harvested as part of an area.
+   * @param player {@link ServerPlayerEntity player} harvesting the crop.
+   * @param hand {@link Hand hand} used to harvest.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   */
+  public static void harvest(ServerWorld world, BlockState blockState, BlockPos blockPos, Direction face, @Nullable BlockHitResult hitResult, ServerPlayerEntity player, Hand hand, HarvestSettings settings) {
+    harvest(world, blockState, blockPos, face, hitResult, player, hand, settings, null, null, null);
+  }
+
+  /**
+   * Harvests the crop, handles all related actions (exp granting, hoe damaging, dropping resources, etc.) and dispatches all related events.
+   *
+   * @param world {@link ServerWorld world}.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param face clicked {@link Direction face} of the crop block.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} for crops harvested as part of an area.
+   * @param player {@link ServerPlayerEntity player} harvesting the crop.
+   * @param hand {@link Hand hand} used to harvest.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @param loot {@link CropLoot} to compute the drops with, {@code null} to use one for this crop only.
+   * @param collector {@link DropCollector} to collect the drops into, {@code null} to drop them right away.
+   * @param effects {@link HarvestEffects} to aggregate the effects into, {@code null} to play them right away.
+   */
+  public static void harvest(ServerWorld world, BlockState blockState, BlockPos blockPos, Direction face, @Nullable BlockHitResult hitResult, ServerPlayerEntity player, Hand hand, HarvestSettings settings, @Nullable CropLoot loot, @Nullable DropCollector collector, @Nullable HarvestEffects effects) {
+    if (hitResult != null || HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.BEFORE_HARVEST)) {
+      HarvestWithEaseEvents.BEFORE_HARVEST.invoker().beforeHarvest(world, blockState, blockPos, face, hitResult, player, hand, hitResult != null);
+    }
+    grantExp(player, settings, effects);
+    damageHoe(player, hand, settings, effects);
+    BlockPos basePos = getBasePos(world, blockState.getBlock(), blockPos);
+    updateCrop(world, blockState.getBlock(), basePos, player, dropResources(world, world.getBlockState(basePos), basePos, face, hitResult, player, hand, loot != null ? loot : CropLoot.of(world, player, player.getStackInHand(hand)), collector), collector, effects, hitResult == null, false);
+    playSound(world, blockState, blockPos, settings, effects);
+    if (hitResult != null || HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.AFTER_HARVEST)) {
+      HarvestWithEaseEvents.AFTER_HARVEST.invoker().afterHarvest(world, blockState, blockPos, face, hitResult, player, hand, hitResult != null);
+    }
+  }
+
+  /**
+   * Harvests the crop without a player, collecting its drops.
+   * No event is fired, no experience is granted, no tool is damaged and no harvest sound is played.
+   *
+   * @param world {@link ServerWorld world}.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param loot {@link CropLoot} to compute the drops with.
+   * @param owner {@link ServerPlayerEntity} on whose behalf the crop is harvested, {@code null} if none.
+   * @param collector {@link DropCollector} to collect the drops into.
+   */
+  public static void harvest(ServerWorld world, BlockState blockState, BlockPos blockPos, CropLoot loot, @Nullable ServerPlayerEntity owner, DropCollector collector) {
+    BlockPos basePos = getBasePos(world, blockState.getBlock(), blockPos);
+    BlockState baseState = world.getBlockState(basePos);
+    collector.addAll(CropDrops.getDrops(loot, world, baseState, basePos, owner));
+    updateCrop(world, blockState.getBlock(), basePos, owner, false, collector, null, true, true);
+  }
+
+  /**
+   * Updates the crop in the world, reverting it to age 0 (simulate replanting) and, if it's a multi-block crop, breaks the crop blocks above.
+   *
+   * @param world {@link ServerWorld world}.
+   * @param block {@link Block} of the clicked crop.
+   * @param basePos {@link BlockPos} of the clicked crop base.
+   * @param player {@link ServerPlayerEntity player} harvesting the crop, {@code null} if harvesting without a player.
+   * @param customDrops whether {@link HarvestDrops} listeners have changed the drops to drop.
+   * @param collector {@link DropCollector} to collect the drops of the crop blocks above into, {@code null} to drop them right away.
+   * @param effects {@link HarvestEffects} to aggregate the effects of breaking the crop blocks above into, {@code null} to play them right away.
+   * @param area whether the crop is harvested as part of an area, in which case neighbors are not updated unless the crop is a multi-block crop.
+   * @param silent whether to break the crop blocks above without any particle or sound.
+   */
+  private static void updateCrop(ServerWorld world, Block block, BlockPos basePos, @Nullable ServerPlayerEntity player, boolean customDrops, @Nullable DropCollector collector, @Nullable HarvestEffects effects, boolean area, boolean silent) {
+    BlockState resetState = CropTable.getResetState(world.getBlockState(basePos));
+    if (resetState != null) {
+      world.setBlockState(basePos, resetState, area && !resetState.isAir() && !CropTable.isTall(resetState) ? AREA_UPDATE_FLAGS : Block.NOTIFY_ALL);
+      BlockPos abovePos = basePos.up();
+      BlockState aboveState = world.getBlockState(abovePos);
+      if (CropTable.isTall(resetState) && aboveState.isOf(block)) {
+        if (collector != null && !customDrops) {
+          collector.addAll(Block.getDroppedStacks(aboveState, world, abovePos, world.getBlockEntity(abovePos), player, ItemStack.EMPTY));
+          breakBlock(world, aboveState, abovePos, player, false, effects, silent);
+        } else {
+          breakBlock(world, aboveState, abovePos, player, !customDrops, effects, silent);
+        }
+      }
+    }
+  }
+
+  /**
+   * Breaks the given block, as if broken by the given player.
+   * If silent, the breaking particles and sound are skipped, otherwise if a {@link HarvestEffects} is given they are aggregated.
+   *
+   * @param world {@link ServerWorld world}.
+   * @param blockState {@link BlockState state} of the block to break.
+   * @param blockPos {@link BlockPos position} of the block to break.
+   * @param player {@link ServerPlayerEntity player} breaking the block, {@code null} if none.
+   * @param drop whether to drop the block resources.
+   * @param effects {@link HarvestEffects} to aggregate the effects into, {@code null} to play them right away.
+   * @param silent whether to skip the breaking particles and sound.
+   */
+  private static void breakBlock(ServerWorld world, BlockState blockState, BlockPos blockPos, @Nullable ServerPlayerEntity player, boolean drop, @Nullable HarvestEffects effects, boolean silent) {
+    if (effects != null || silent) {
+      if (drop) {
+        Block.dropStacks(blockState, world, blockPos, world.getBlockEntity(blockPos), player, ItemStack.EMPTY);
+      }
+      if (world.setBlockState(blockPos, world.getFluidState(blockPos).getBlockState(), Block.NOTIFY_ALL)) {
+        world.emitGameEvent(GameEvent.BLOCK_DESTROY, blockPos, GameEvent.Emitter.of(player, blockState));
+      }
+      if (!silent) {
+        effects.playDestroyEffects(world, blockState, blockPos);
+      }
+    } else {
+      world.breakBlock(blockPos, drop, player);
+    }
+  }
+
+  /**
+   * Returns the base pos of the clicked crop.
+   *
+   * @param world {@link ServerWorld world}.
+   * @param block {@link Block} of the clicked crop.
+   * @param blockPos {@link BlockPos} of the crop block clicked.
+   * @return the base pos of the clicked crop.
+   */
+  private static BlockPos getBasePos(ServerWorld world, Block block, BlockPos blockPos) {
+    BlockPos basePos;
+    for (basePos = blockPos; CropTable.isTall(world.getBlockState(blockPos)) && world.getBlockState(basePos.down()).isOf(block); basePos = basePos.down()) ;
+    return basePos;
+  }
+
+  /**
+   * Grants the given player the configured amount of experience, if any, or adds it to the given {@link HarvestEffects}.
+   *
+   * @param player {@link ServerPlayerEntity player} to grant the experience to.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @param effects {@link HarvestEffects} to add the experience to, {@code null} to grant it right away.
+   */
+  private static void grantExp(ServerPlayerEntity player, HarvestSettings settings, @Nullable HarvestEffects effects) {
+    if (effects != null) {
+      effects.addExp(settings.grantedExp());
+    } else if (settings.grantedExp() > 0) {
+      player.addExperience(settings.grantedExp());
+    }
+  }
+
+  /**
+   * If needed and possible, damages the hoe of the given {@link HarvestSettings#damageOnHarvest() damage}, or adds the damage to the given {@link HarvestEffects}.
+   *
+   * @param player {@link ServerPlayerEntity player} holding the hoe.
+   * @param hand {@link Hand hand} holding the hoe.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @param effects {@link HarvestEffects} to add the damage to, {@code null} to damage the hoe right away.
+   */
+  private static void damageHoe(ServerPlayerEntity player, Hand hand, HarvestSettings settings, @Nullable HarvestEffects effects) {
+    if (effects != null) {
+      effects.addDamage(getHoeDamage(player, settings));
+    } else if (getHoeDamage(player, settings) > 0) {
+      player.getStackInHand(hand).damage(settings.damageOnHarvest(), player, playerEntity -> playerEntity.sendToolBreakStatus(hand));
+    }
+  }
+
+  /**
+   * Returns the damage the hoe of the given player takes for each harvested crop.
+   *
+   * @param player {@link ServerPlayerEntity player} holding the hoe.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @return the damage the hoe takes for each harvested crop, {@code 0} if it takes none.
+   */
+  private static int getHoeDamage(ServerPlayerEntity player, HarvestSettings settings) {
+    return settings.requireHoe() && !player.isCreative() ? Math.max(settings.damageOnHarvest(), 0) : 0;
+  }
+
+  /**
+   * Drop the resources resulting from harvesting a crop in the given {@link ServerWorld world} and {@link BlockState blockState}, making them pop from the given face and using the item held in the given player hand.
+   * If a {@link DropCollector} is given, the resources are collected instead.
+   * Takes care of dispatching the {@link HarvestWithEaseEvents#HARVEST_DROPS} to retrieve the drops resulting from the harvest, if it has any listener.
+   *
+   * @param world {@link ServerWorld server world} the drops should come from.
+   * @param blockState {@link BlockState state} of the crop being harvested.
+   * @param blockPos crop {@link BlockPos position}.
+   * @param face {@link Direction face} clicked of the crop.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} for crops harvested as part of an area.
+   * @param player {@link ServerPlayerEntity player} harvesting the crop.
+   * @param hand {@link Hand hand} used to harvest the crop.
+   * @param loot {@link CropLoot} to compute the drops with.
+   * @param collector {@link DropCollector} to collect the drops into, {@code null} to drop them right away.
+   * @return whether {@link HarvestDrops} listeners have changed the drops to drop.
+   */
+  private static boolean dropResources(ServerWorld world, BlockState blockState, BlockPos blockPos, Direction face, @Nullable BlockHitResult hitResult, ServerPlayerEntity player, Hand hand, CropLoot loot, @Nullable DropCollector collector) {
+    List<ItemStack> drops;
+    boolean customDrops = false;
+    if (HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.HARVEST_DROPS)) {
+      HarvestWithEaseEvents.HarvestDropsEvent event = new HarvestWithEaseEvents.HarvestDropsEvent(CropDrops.getDrops(loot, world, blockState, blockPos, player));
+      HarvestWithEaseEvents.HARVEST_DROPS.invoker().getDrops(world, blockState, blockPos, face, hitResult, player, hand, hitResult != null, event);
+      drops = event.getFinalDrops();
+      customDrops = event.haveDropsChanged();
+    } else {
+      drops = CropDrops.getDrops(loot, world, blockState, blockPos, player);
+    }
+    for (ItemStack stack : drops) {
+      if (collector != null) {
+        collector.add(stack);
+      } else if (blockState.getCollisionShape(world, blockPos) != VoxelShapes.empty()) {
+        Block.dropStack(world, blockPos, face, stack);
+      } else {
+        Block.dropStack(world, blockPos, stack);
+      }
+    }
+    return customDrops;
+  }
+
+  /**
+   * If {@link HarvestSettings#playSound() playSound} is true, plays the block breaking sound or aggregates it into the given {@link HarvestEffects}.
+   *
+   * @param world {@link ServerWorld} to play the sound.
+   * @param blockState {@link BlockState state} of the block emitting the sound.
+   * @param blockPos {@link BlockPos position} of the block emitting the sound.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @param effects {@link HarvestEffects} to aggregate the sound into, {@code null} to play it right away.
+   */
+  private static void playSound(ServerWorld world, BlockState blockState, BlockPos blockPos, HarvestSettings settings, @Nullable HarvestEffects effects) {
+    if (settings.playSound()) {
+      if (effects != null) {
+        effects.playBreakSound(world, blockState, blockPos);
+      } else {
+        BlockSoundGroup soundGroup = blockState.getBlock().getSoundGroup(blockState);
+        world.playSound(null, blockPos, soundGroup.getBreakSound(), SoundCategory.BLOCKS, soundGroup.getVolume(), soundGroup.getPitch());
+      }
+    }
+  }
+
+  /**
+   * Checks whether the given {@link PlayerEntity} can right-click harvest the crop.
+   * Expects {@code blockState} to be already known as a fully grown crop.
+   * Dispatches the {@link HarvestWithEaseEvents#HARVEST_CHECK} event if the player has the correct tool for drops, unless the crop is part of an area and nobody listens to the event.
+   *
+   * @param world {@link World} of the interaction.
+   * @param blockState {@link BlockState} of the crop to harvest.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param player {@link PlayerEntity} trying to harvest.
+   * @param hand {@link Hand} being used to harvest the crop.
+   * @param first whether the current crop is the actual right-clicked crop.
+   * @return whether the player can right-click harvest the crop.
+   */
+  public static boolean canHarvest(World world, BlockState blockState, BlockPos blockPos, PlayerEntity player, Hand hand, boolean first) {
+    return player.canHarvest(blockState) && (!first && !HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.HARVEST_CHECK) || HarvestWithEaseEvents.HARVEST_CHECK.invoker().check(world, blockState, blockPos, player, hand, first, new HarvestWithEaseEvents.HarvestCheckEvent()));
+  }
+}
@@ -0,0 +1,61 @@
+package crystalspider.harvestwithease.harvest;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.loot.context.LootContextParameterSet;
+import net.minecraft.loot.context.LootContextParameters;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Loot context of a single harvest, right-click or multi-harvest, so that the common loot parameters are set once and only the crop position and state change.
+ * <p>
+ * Drops are computed as {@link Block#getDroppedStacks(BlockState, ServerWorld, BlockPos, BlockEntity, net.minecraft.entity.Entity, ItemStack)} would, through {@link BlockState#getDroppedStacks}, so blocks that compute their drops differently and mixins into it still apply.
+ * Each harvest must use its own instance: the underlying builder is mutated for every crop.
+ */
+public final class CropLoot {
+  /**
+   * Builder holding the shared loot parameters.
+   */
+  private final LootContextParameterSet.Builder builder;
+
+  /**
+   * @param world {@link ServerWorld} of the harvest.
+   * @param player {@link ServerPlayerEntity} harvesting, {@code null} if harvesting without a player.
+   * @param tool {@link ItemStack} used to harvest.
+   */
+  private CropLoot(ServerWorld world, @Nullable ServerPlayerEntity player, ItemStack tool) {
+    this.builder = new LootContextParameterSet.Builder(world).add(LootContextParameters.TOOL, tool).addOptional(LootContextParameters.THIS_ENTITY, player);
+  }
+
+  /**
+   * Returns a new loot context for the given player harvesting with the given tool.
+   *
+   * @param world {@link ServerWorld} of the harvest.
+   * @param player {@link ServerPlayerEntity} harvesting, {@code null} if harvesting without a player.
+   * @param tool {@link ItemStack} used to harvest.
+   * @return the {@link CropLoot} for the harvest.
+   */
+  public static CropLoot of(ServerWorld world, @Nullable ServerPlayerEntity player, ItemStack tool) {
+    return new CropLoot(world, player, tool);
+  }
+
+  /**
+   * Returns the drops of the given crop, as if broken by the player with the tool.
+   *
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param blockEntity {@link BlockEntity} of the crop, if any.
+   * @return the drops of the crop.
+   */
+  public List<ItemStack> getDrops(BlockState blockState, BlockPos blockPos, @Nullable BlockEntity blockEntity) {
+    return blockState.getDroppedStacks(builder.add(LootContextParameters.ORIGIN, Vec3d.ofCenter(blockPos)).addOptional(LootContextParameters.BLOCK_ENTITY, blockEntity));
+  }
+}
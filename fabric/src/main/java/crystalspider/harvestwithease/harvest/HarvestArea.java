@@ -0,0 +1,99 @@
+package crystalspider.harvestwithease.harvest;
+
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Precomputed offset tables for the square multi-harvest areas.
+ * <p>
+ * Each table holds the horizontal offsets, packed as with {@link BlockPos#asLong(int, int, int)}, of all the tiles in the square of the given radius except its center, sorted nearest first.
+ * Tables are built once per radius and meant to be walked with a single {@link BlockPos.Mutable}, so that scanning an area doesn't allocate anything per tile.
+ */
+public final class HarvestArea {
+  /**
+   * Offset tables built so far, indexed by radius.
+   */
+  private static volatile long[][] offsets = new long[0][];
+
+  private HarvestArea() {
+  }
+
+  /**
+   * Returns the offsets of all the tiles in the square area of the given radius, center excluded.
+   * <p>
+   * The returned array is shared and must not be modified.
+   *
+   * @param radius distance from the center to the edges of the square.
+   * @return the packed offsets, sorted nearest first.
+   */
+  public static long[] getOffsets(int radius) {
+    long[][] current = offsets;
+    if (radius < current.length) {
+      return current[radius];
+    }
+    return grow(radius)[radius];
+  }
+
+  /**
+   * Moves the given mutable position to the tile at the given offset from the center.
+   *
+   * @param pos {@link BlockPos.Mutable} to move.
+   * @param center center of the area.
+   * @param offset packed offset, as returned by {@link #getOffsets(int)}.
+   * @return {@code pos}, for chaining.
+   */
+  public static BlockPos.Mutable move(BlockPos.Mutable pos, BlockPos center, long offset) {
+    return pos.set(center, BlockPos.unpackLongX(offset), 0, BlockPos.unpackLongZ(offset));
+  }
+
+  /**
+   * Builds all the missing offset tables up to the given radius.
+   *
+   * @param radius
+   * @return the offset tables, indexed by radius.
+   */
+  private static synchronized long[][] grow(int radius) {
+    long[][] current = offsets;
+    if (radius >= current.length) {
+      long[][] grown = new long[radius + 1][];
+      System.arraycopy(current, 0, grown, 0, current.length);
+      for (int r = current.length; r <= radius; r++) {
+        grown[r] = build(r);
+      }
+      offsets = current = grown;
+    }
+    return current;
+  }
+
+  /**
+   * Builds the offset table for the given radius.
+   *
+   * @param radius
+   * @return the packed offsets, sorted nearest first.
+   */
+  private static long[] build(int radius) {
+    int side = radius * 2 + 1;
+    long[] table = new long[side * side - 1];
+    int i = 0;
+    for (int dx = -radius; dx <= radius; dx++) {
+      for (int dz = -radius; dz <= radius; dz++) {
+        if (dx != 0 || dz != 0) {
+          table[i++] = BlockPos.asLong(dx, 0, dz);
+        }
+      }
+    }
+    LongArrays.stableSort(table, (a, b) -> Integer.compare(distance(a), distance(b)));
+    return table;
+  }
+
+  /**
+   * Returns the squared horizontal distance of the given offset from the center.
+   *
+   * @param offset
+   * @return the squared horizontal distance.
+   */
+  private static int distance(long offset) {
+    int x = BlockPos.unpackLongX(offset), z = BlockPos.unpackLongZ(offset);
+    return x * x + z * z;
+  }
+}
@@ -0,0 +1,141 @@
+package crystalspider.harvestwithease.harvest;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.BlockSoundGroup;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.util.Hand;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldEvents;
+
+/**
+ * Aggregates the side effects of a multi-harvest, so that nearby clients hear each kind of crop once per area cell instead of once per crop
+ * and the player is granted experience and has their hoe damaged once for the whole area instead of once per crop.
+ * <p>
+ * At most {@link #MAX_SOUNDS} sounds are played for the whole multi-harvest, blocks broken above tall crops play their breaking particles along with their sound.
+ */
+public final class HarvestEffects {
+  /**
+   * Maximum number of sounds played for a single multi-harvest.
+   */
+  public static final int MAX_SOUNDS = 8;
+  /**
+   * Shift turning block coordinates into cell coordinates, cells are {@code 4x4x4} blocks.
+   */
+  private static final int CELL_SHIFT = 2;
+
+  /**
+   * Packed cells where each {@link BlockSoundGroup} was already played.
+   */
+  private final Reference2ObjectOpenHashMap<BlockSoundGroup, LongOpenHashSet> cells = new Reference2ObjectOpenHashMap<>();
+  /**
+   * Number of sounds played so far.
+   */
+  private int played = 0;
+  /**
+   * Number of sounds skipped so far.
+   */
+  private int skipped = 0;
+  /**
+   * Experience to grant once the multi-harvest completes.
+   */
+  private int exp = 0;
+  /**
+   * Damage to deal to the hoe once the multi-harvest completes.
+   */
+  private int damage = 0;
+
+  /**
+   * Plays the breaking sound of the given crop, unless the same sound was already played in the same cell or {@link #MAX_SOUNDS} sounds were already played.
+   *
+   * @param world {@link ServerWorld} to play the sound.
+   * @param blockState {@link BlockState state} of the block emitting the sound.
+   * @param blockPos {@link BlockPos position} of the block emitting the sound.
+   */
+  public void playBreakSound(ServerWorld world, BlockState blockState, BlockPos blockPos) {
+    BlockSoundGroup soundGroup = blockState.getBlock().getSoundGroup(blockState);
+    if (claim(soundGroup, blockPos)) {
+      world.playSound(null, blockPos, soundGroup.getBreakSound(), SoundCategory.BLOCKS, soundGroup.getVolume(), soundGroup.getPitch());
+    }
+  }
+
+  /**
+   * Plays the breaking particles and sound of the given block, as {@link ServerWorld#breakBlock} would, under the same limits as {@link #playBreakSound}.
+   *
+   * @param world {@link ServerWorld} to play the effects.
+   * @param blockState {@link BlockState state} of the block broken.
+   * @param blockPos {@link BlockPos position} of the block broken.
+   */
+  public void playDestroyEffects(ServerWorld world, BlockState blockState, BlockPos blockPos) {
+    if (claim(blockState.getBlock().getSoundGroup(blockState), blockPos)) {
+      world.syncWorldEvent(WorldEvents.BLOCK_BROKEN, blockPos, Block.getRawIdFromState(blockState));
+    }
+  }
+
+  /**
+   * Claims the cell of the given position for the given {@link BlockSoundGroup}, unless it was already claimed or {@link #MAX_SOUNDS} sounds were already played.
+   *
+   * @param soundGroup {@link BlockSoundGroup} to play.
+   * @param blockPos {@link BlockPos position} of the block emitting the sound.
+   * @return whether the sound should be played.
+   */
+  private boolean claim(BlockSoundGroup soundGroup, BlockPos blockPos) {
+    long cell = BlockPos.asLong(blockPos.getX() >> CELL_SHIFT, blockPos.getY() >> CELL_SHIFT, blockPos.getZ() >> CELL_SHIFT);
+    if (played < MAX_SOUNDS && cells.computeIfAbsent(soundGroup, key -> new LongOpenHashSet()).add(cell)) {
+      played++;
+      return true;
+    }
+    skipped++;
+    return false;
+  }
+
+  /**
+   * Adds the given experience to the experience to grant.
+   *
+   * @param amount
+   */
+  public void addExp(int amount) {
+    exp += amount;
+  }
+
+  /**
+   * Adds the given damage to the damage to deal to the hoe.
+   *
+   * @param amount
+   */
+  public void addDamage(int amount) {
+    damage += amount;
+  }
+
+  /**
+   * Returns the damage to deal to the hoe accumulated so far.
+   *
+   * @return the accumulated hoe damage.
+   */
+  public int getDamage() {
+    return damage;
+  }
+
+  /**
+   * Completes the aggregation, granting the accumulated experience, dealing the accumulated damage to the hoe and recording the skipped sounds.
+   *
+   * @param player {@link ServerPlayerEntity player} harvesting.
+   * @param hand {@link Hand hand} holding the hoe.
+   * @param tool {@link ItemStack} the area was harvested with.
+   */
+  public void finish(ServerPlayerEntity player, Hand hand, ItemStack tool) {
+    if (exp > 0) {
+      player.addExperience(exp);
+    }
+    if (damage > 0) {
+      tool.damage(damage, player, playerEntity -> playerEntity.sendToolBreakStatus(hand));
+    }
+    HarvestMetrics.addAvoidedSounds(skipped);
+    exp = damage = skipped = 0;
+  }
+}
@@ -0,0 +1,87 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.config.HarvestSettings;
+import crystalspider.harvestwithease.config.ModConfig;
+import net.minecraft.server.MinecraftServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Scales multi-harvest areas down while the server is behind, based on its rolling average tick time.
+ * <p>
+ * Below {@link HarvestSettings#msptThreshold()} areas are left untouched.
+ * Above it, the area radius shrinks linearly until it reaches {@code 0} at {@link HarvestSettings#msptLimit()}, and multi-harvests are deferred.
+ * Changes of the throttling state are logged.
+ */
+public final class HarvestGovernor {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+
+  /**
+   * Current scale of multi-harvest areas, from {@code 0} (only the right-clicked crop) to {@code 1} (full area).
+   */
+  private static volatile float scale = 1;
+
+  private HarvestGovernor() {
+  }
+
+  /**
+   * Warns if the given settings turn throttling into a cliff, with {@link HarvestSettings#msptLimit()} not above an enabled {@link HarvestSettings#msptThreshold()}.
+   * Meant to be called whenever the configuration is loaded.
+   *
+   * @param settings {@link HarvestSettings} just loaded.
+   */
+  public static void validate(HarvestSettings settings) {
+    if (settings.msptThreshold() > 0 && settings.msptLimit() <= settings.msptThreshold()) {
+      LOGGER.warn("[mspt limit] ({}) is not greater than [mspt threshold] ({}): multi-harvests will be reduced to the right-clicked crop as soon as the threshold is exceeded.", settings.msptLimit(), settings.msptThreshold());
+    }
+  }
+
+  /**
+   * Updates the current scale from the average tick time of the given server.
+   * Meant to be called once per server tick.
+   *
+   * @param server
+   */
+  public static void update(MinecraftServer server) {
+    HarvestSettings settings = ModConfig.getSettings();
+    float updated = 1;
+    if (settings.msptThreshold() > 0) {
+      double mspt = server.getAverageNanosPerTick() / 1_000_000D;
+      if (mspt > settings.msptThreshold()) {
+        updated = settings.msptLimit() > settings.msptThreshold() ? (float) Math.max(0, (settings.msptLimit() - mspt) / (settings.msptLimit() - settings.msptThreshold())) : 0;
+      }
+      if ((updated < 1) != (scale < 1)) {
+        if (updated < 1) {
+          LOGGER.info("Server is running at {} MSPT, multi-harvest areas are scaled down to {}% and deferred.", Math.round(mspt), Math.round(updated * 100));
+        } else {
+          LOGGER.info("Server is back to {} MSPT, multi-harvest areas are restored.", Math.round(mspt));
+        }
+      }
+    }
+    scale = updated;
+  }
+
+  /**
+   * Checks whether multi-harvests are currently throttled.
+   *
+   * @return whether multi-harvest areas are currently scaled down.
+   */
+  public static boolean isThrottled() {
+    return scale < 1;
+  }
+
+  /**
+   * Scales the given area radius by the current scale.
+   *
+   * @param radius distance from the center to the edges of the area.
+   * @return the scaled radius.
+   */
+  public static int scale(int radius) {
+    return radius > 0 ? (int) (radius * scale) : radius;
+  }
+}
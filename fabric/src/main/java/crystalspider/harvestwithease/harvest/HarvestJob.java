@@ -0,0 +1,182 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents.AreaHarvestCheckEvent;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents.AreaHarvestEvent;
+import crystalspider.harvestwithease.config.HarvestSettings;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Hand;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Multi-harvest of an area, executing a {@link HarvestPlan} one crop at a time.
+ * <p>
+ * Executing a crop only reads its current state to make sure it's still the planned one, since the world may have changed in between.
+ * The whole area is checked at once with {@link HarvestWithEaseEvents#AREA_HARVEST_CHECK}, per-crop events are fired only if some listener would receive them.
+ */
+public final class HarvestJob {
+  /**
+   * {@link ServerWorld} of the area.
+   */
+  private final ServerWorld world;
+  /**
+   * {@link ServerPlayerEntity} harvesting.
+   */
+  private final ServerPlayerEntity player;
+  /**
+   * {@link Hand} used to harvest.
+   */
+  private final Hand hand;
+  /**
+   * {@link ItemStack} held in {@link #hand} when the job was planned.
+   */
+  private final ItemStack tool;
+  /**
+   * Clicked {@link Direction face} of the crop at the center of the area.
+   */
+  private final Direction face;
+  /**
+   * {@link HarvestSettings} of the interaction that started the job.
+   */
+  private final HarvestSettings settings;
+  /**
+   * {@link HarvestPlan} being executed.
+   */
+  private final HarvestPlan plan;
+  /**
+   * {@link DropCollector} of the whole job, {@code null} if drops are not collected.
+   */
+  @Nullable
+  private final DropCollector collector;
+  /**
+   * {@link CropLoot} of the whole job.
+   */
+  private final CropLoot loot;
+  /**
+   * {@link HarvestEffects} of the whole job.
+   */
+  private final HarvestEffects effects = new HarvestEffects();
+  /**
+   * Hoe damage after which the hoe would break, {@link Integer#MAX_VALUE} if it can't break.
+   */
+  private final int durability;
+  /**
+   * Index of the next crop to harvest.
+   */
+  private int next = 0;
+
+  /**
+   * @param player {@link #player}.
+   * @param hand {@link #hand}.
+   * @param face {@link #face}.
+   * @param settings {@link #settings}.
+   * @param plan {@link #plan}.
+   * @param collector {@link #collector}.
+   */
+  private HarvestJob(ServerPlayerEntity player, Hand hand, Direction face, HarvestSettings settings, HarvestPlan plan, @Nullable DropCollector collector) {
+    this.world = plan.getWorld();
+    this.player = player;
+    this.hand = hand;
+    this.tool = player.getStackInHand(hand);
+    this.durability = tool.isDamageable() ? tool.getMaxDamage() - tool.getDamage() : Integer.MAX_VALUE;
+    this.face = face;
+    this.settings = settings;
+    this.plan = plan;
+    this.collector = collector;
+    this.loot = CropLoot.of(world, player, tool);
+  }
+
+  /**
+   * Plans the multi-harvest of the square area around the given center, center excluded.
+   * Crops already claimed by another pending job are left out, the planned ones are claimed until the job {@link #finish() finishes}.
+   * Fires {@link HarvestWithEaseEvents#AREA_HARVEST_CHECK} and {@link HarvestWithEaseEvents#BEFORE_AREA_HARVEST} for the planned crops, if there are any and the events have listeners.
+   *
+   * @param world {@link ServerWorld} of the area.
+   * @param center center of the area.
+   * @param radius distance from the center to the edges of the square area.
+   * @param face clicked {@link Direction face} of the crop at the center.
+   * @param player {@link ServerPlayerEntity} harvesting.
+   * @param hand {@link Hand} used to harvest.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @param collector {@link DropCollector} already holding the drops of the crop at the center, delivered once the job finishes, {@code null} if drops are not collected.
+   * @return the planned {@link HarvestJob}.
+   */
+  public static HarvestJob plan(ServerWorld world, BlockPos center, int radius, Direction face, ServerPlayerEntity player, Hand hand, HarvestSettings settings, @Nullable DropCollector collector) {
+    HarvestJob job = new HarvestJob(player, hand, face, settings, HarvestPlan.of(world, center, radius), collector);
+    if (job.plan.size() == 0) {
+      return job;
+    }
+    if (HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.AREA_HARVEST_CHECK)) {
+      HarvestWithEaseEvents.AREA_HARVEST_CHECK.invoker().check(world, job.plan.getCenter(), player, hand, new AreaHarvestCheckEvent(job.plan.getPositions(), job.plan.getStates(), job.plan.getVetoed()));
+    }
+    if (HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.BEFORE_AREA_HARVEST)) {
+      HarvestWithEaseEvents.BEFORE_AREA_HARVEST.invoker().beforeAreaHarvest(world, job.plan.getCenter(), player, hand, new AreaHarvestEvent(job.plan.getPositions(), job.plan.getStates(), job.plan.getVetoed()));
+    }
+    return job;
+  }
+
+  /**
+   * Returns the {@link ServerPlayerEntity} harvesting.
+   *
+   * @return the {@link ServerPlayerEntity} harvesting.
+   */
+  public ServerPlayerEntity getPlayer() {
+    return player;
+  }
+
+  /**
+   * Returns the amount of planned crops.
+   *
+   * @return the amount of planned crops.
+   */
+  public int size() {
+    return plan.size();
+  }
+
+  /**
+   * Checks whether this job can still go on.
+   * The job stops if all crops were visited, the hoe would break harvesting the next crop, the player left the world or is no longer holding the same item.
+   *
+   * @return whether there's still something to harvest.
+   */
+  public boolean isActive() {
+    return next < plan.size() && effects.getDamage() < durability && !player.isRemoved() && player.getWorld() == world && player.getStackInHand(hand) == tool;
+  }
+
+  /**
+   * Harvests the next planned crop, if it wasn't vetoed, it's still in its planned state and the player can still harvest it.
+   */
+  public void step() {
+    int index = next++;
+    if (!plan.isVetoed(index)) {
+      BlockPos pos = plan.getPos(index);
+      BlockState state = world.isChunkLoaded(pos) ? world.getBlockState(pos) : null;
+      if (state != null && plan.isUnchanged(index, state) && CropHarvester.canHarvest(world, state, pos, player, hand, false)) {
+        CropHarvester.harvest(world, state, pos, face, null, player, hand, settings, loot, collector, effects);
+      } else {
+        plan.veto(index);
+      }
+    }
+  }
+
+  /**
+   * Completes the job, delivering the collected drops, if any, completing the aggregated effects, releasing the planned crops and firing {@link HarvestWithEaseEvents#AFTER_AREA_HARVEST} if anything was planned.
+   * Must be called once the job is no longer {@link #isActive() active}.
+   */
+  public void finish() {
+    if (collector != null) {
+      collector.deliver(world, plan.getCenter(), player);
+    }
+    effects.finish(player, hand, tool);
+    plan.vetoFrom(next);
+    plan.release();
+    if (plan.size() > 0 && HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.AFTER_AREA_HARVEST)) {
+      HarvestWithEaseEvents.AFTER_AREA_HARVEST.invoker().afterAreaHarvest(world, plan.getCenter(), player, hand, new AreaHarvestEvent(plan.getPositions(), plan.getStates(), plan.getVetoed()));
+    }
+  }
+}
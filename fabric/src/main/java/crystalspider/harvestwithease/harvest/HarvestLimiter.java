@@ -0,0 +1,96 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.config.HarvestSettings;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Arrays;
+
+/**
+ * Per-player rate limiter of right-click harvests.
+ * <p>
+ * Each player carries, through a {@link Holder mixin}, a fixed ring of one slot per server tick of the last second, counting harvests and harvested crops,
+ * so that checking and recording a harvest never allocates.
+ * Rings live and die with their player.
+ * Only meant to be used from the server thread.
+ */
+public final class HarvestLimiter {
+  /**
+   * Amount of slots of each ring, one per tick of a second.
+   */
+  private static final int SLOTS = 20;
+
+  /**
+   * Server tick each slot refers to.
+   */
+  private final long[] ticks = new long[SLOTS];
+  /**
+   * Harvests started in each slot.
+   */
+  private final int[] harvests = new int[SLOTS];
+  /**
+   * Crops harvested in each slot.
+   */
+  private final int[] crops = new int[SLOTS];
+
+  public HarvestLimiter() {
+    Arrays.fill(ticks, Long.MIN_VALUE);
+  }
+
+  /**
+   * Checks whether the given player already reached {@link HarvestSettings#harvestsPerSecond()} or {@link HarvestSettings#cropsPerSecond()}.
+   *
+   * @param player
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @return whether the given player must wait before harvesting again.
+   */
+  public static boolean isLimited(ServerPlayerEntity player, HarvestSettings settings) {
+    if (settings.harvestsPerSecond() <= 0 && settings.cropsPerSecond() <= 0) {
+      return false;
+    }
+    HarvestLimiter limiter = ((Holder) player).harvestwithease$getHarvestLimiter();
+    long tick = player.server.getTicks();
+    int recentHarvests = 0;
+    int recentCrops = 0;
+    for (int slot = 0; slot < SLOTS; slot++) {
+      if (limiter.ticks[slot] > tick - SLOTS) {
+        recentHarvests += limiter.harvests[slot];
+        recentCrops += limiter.crops[slot];
+      }
+    }
+    return (settings.harvestsPerSecond() > 0 && recentHarvests >= settings.harvestsPerSecond()) || (settings.cropsPerSecond() > 0 && recentCrops >= settings.cropsPerSecond());
+  }
+
+  /**
+   * Records a harvest of the given player.
+   *
+   * @param player
+   * @param amount amount of crops harvested, or planned to be.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   */
+  public static void record(ServerPlayerEntity player, int amount, HarvestSettings settings) {
+    if (settings.harvestsPerSecond() > 0 || settings.cropsPerSecond() > 0) {
+      HarvestLimiter limiter = ((Holder) player).harvestwithease$getHarvestLimiter();
+      long tick = player.server.getTicks();
+      int slot = (int) (tick % SLOTS);
+      if (limiter.ticks[slot] != tick) {
+        limiter.ticks[slot] = tick;
+        limiter.harvests[slot] = 0;
+        limiter.crops[slot] = 0;
+      }
+      limiter.harvests[slot]++;
+      limiter.crops[slot] += amount;
+    }
+  }
+
+  /**
+   * Implemented on {@link ServerPlayerEntity} by a mixin, to keep the {@link HarvestLimiter} ring with the player.
+   */
+  public interface Holder {
+    /**
+     * Returns the {@link HarvestLimiter} ring of the player.
+     *
+     * @return the {@link HarvestLimiter} ring of the player.
+     */
+    HarvestLimiter harvestwithease$getHarvestLimiter();
+  }
+}
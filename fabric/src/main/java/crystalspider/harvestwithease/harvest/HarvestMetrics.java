@@ -0,0 +1,124 @@
+package crystalspider.harvestwithease.harvest;
+
+import net.minecraft.server.MinecraftServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Counters of the work avoided by the multi-harvest engine since the game started.
+ * <p>
+ * Counters are reported at debug level every {@link #REPORT_INTERVAL} server ticks, if they changed since the last report.
+ */
+public final class HarvestMetrics {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+  /**
+   * Server ticks between two reports, 5 minutes.
+   */
+  private static final int REPORT_INTERVAL = 6000;
+
+  /**
+   * Number of tiles skipped because their chunk was not loaded.
+   */
+  private static final LongAdder unloadedTiles = new LongAdder();
+  /**
+   * Number of item entities that weren't spawned thanks to coalesced drops or direct inventory delivery.
+   */
+  private static final LongAdder avoidedEntities = new LongAdder();
+  /**
+   * Number of sounds that weren't played thanks to the aggregation of multi-harvest effects.
+   */
+  private static final LongAdder avoidedSounds = new LongAdder();
+
+  /**
+   * Sum of all counters as of the last report.
+   */
+  private static long reported = 0;
+
+  private HarvestMetrics() {
+  }
+
+  /**
+   * Logs the counters at debug level, if it's time for a report and they changed since the last one.
+   * Meant to be called once per server tick.
+   *
+   * @param server
+   */
+  public static void report(MinecraftServer server) {
+    if (server.getTicks() % REPORT_INTERVAL == 0 && LOGGER.isDebugEnabled()) {
+      long unloaded = getUnloadedTiles();
+      long entities = getAvoidedEntities();
+      long sounds = getAvoidedSounds();
+      if (unloaded + entities + sounds != reported) {
+        reported = unloaded + entities + sounds;
+        LOGGER.debug("Multi-harvest work avoided so far: {} tiles in unloaded chunks skipped, {} item entities not spawned, {} sounds not played.", unloaded, entities, sounds);
+      }
+    }
+  }
+
+  /**
+   * Records the given number of tiles skipped because their chunk was not loaded.
+   *
+   * @param count
+   */
+  public static void addUnloadedTiles(int count) {
+    if (count > 0) {
+      unloadedTiles.add(count);
+    }
+  }
+
+  /**
+   * Returns the number of tiles skipped because their chunk was not loaded.
+   *
+   * @return the number of unloaded tiles skipped so far.
+   */
+  public static long getUnloadedTiles() {
+    return unloadedTiles.sum();
+  }
+
+  /**
+   * Records the given number of item entities that weren't spawned thanks to coalesced drops or direct inventory delivery.
+   *
+   * @param count
+   */
+  public static void addAvoidedEntities(int count) {
+    if (count > 0) {
+      avoidedEntities.add(count);
+    }
+  }
+
+  /**
+   * Returns the number of item entities that weren't spawned thanks to coalesced drops or direct inventory delivery.
+   *
+   * @return the number of item entities avoided so far.
+   */
+  public static long getAvoidedEntities() {
+    return avoidedEntities.sum();
+  }
+
+  /**
+   * Records the given number of sounds that weren't played thanks to the aggregation of multi-harvest effects.
+   *
+   * @param count
+   */
+  public static void addAvoidedSounds(int count) {
+    if (count > 0) {
+      avoidedSounds.add(count);
+    }
+  }
+
+  /**
+   * Returns the number of sounds that weren't played thanks to the aggregation of multi-harvest effects.
+   *
+   * @return the number of sounds avoided so far.
+   */
+  public static long getAvoidedSounds() {
+    return avoidedSounds.sum();
+  }
+}
@@ -0,0 +1,217 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.cache.CropTable;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.BitSet;
+
+/**
+ * Snapshot of the mature crops of a multi-harvest area, taken once and then executed, inspected or vetoed without reading the area again.
+ * <p>
+ * Crops are identified by their index, nearest first, and stored in primitive arrays: packed positions and global state ids, see {@link Block#getRawIdFromState(BlockState)}.
+ * A plan claims its crops until {@link #release() released}, so that no other plan includes them.
+ * Only meant to be used from the server thread.
+ */
+public final class HarvestPlan {
+  /**
+   * {@link ServerWorld} of the area.
+   */
+  private final ServerWorld world;
+  /**
+   * Center of the area.
+   */
+  private final BlockPos center;
+  /**
+   * Packed positions of the planned crops, nearest first.
+   */
+  private final long[] positions;
+  /**
+   * Global ids of the {@link BlockState states} of the planned crops, in the same order as {@link #positions}.
+   */
+  private final int[] states;
+  /**
+   * Indexes of the planned crops that will not or were not harvested.
+   */
+  private final BitSet vetoed;
+  /**
+   * Whether the planned crops are still claimed, so that releasing twice never drops claims another plan took in the meantime.
+   */
+  private boolean claimed = true;
+
+  /**
+   * @param world {@link #world}.
+   * @param center {@link #center}.
+   * @param positions {@link #positions}.
+   * @param states {@link #states}.
+   */
+  private HarvestPlan(ServerWorld world, BlockPos center, long[] positions, int[] states) {
+    this.world = world;
+    this.center = center;
+    this.positions = positions;
+    this.states = states;
+    this.vetoed = new BitSet(positions.length);
+  }
+
+  /**
+   * Plans the multi-harvest of the square area around the given center, center excluded, claiming the planned crops.
+   * Crops already claimed by another plan are left out.
+   *
+   * @param world {@link ServerWorld} of the area.
+   * @param center center of the area.
+   * @param radius distance from the center to the edges of the square area.
+   * @return the {@link HarvestPlan}.
+   */
+  public static HarvestPlan of(ServerWorld world, BlockPos center, int radius) {
+    AreaScanner scanner = new AreaScanner(world, center, radius);
+    BlockPos.Mutable pos = new BlockPos.Mutable();
+    LongArrayList positions = new LongArrayList();
+    IntArrayList states = new IntArrayList();
+    for (long offset : HarvestArea.getOffsets(radius)) {
+      BlockState state = scanner.getBlockState(HarvestArea.move(pos, center, offset));
+      if (state != null && CropTable.isMature(state) && HarvestQueue.claim(world, pos.asLong())) {
+        positions.add(pos.asLong());
+        states.add(Block.getRawIdFromState(state));
+      }
+    }
+    HarvestMetrics.addUnloadedTiles(scanner.getUnloadedTiles());
+    return new HarvestPlan(world, center.toImmutable(), positions.toLongArray(), states.toIntArray());
+  }
+
+  /**
+   * Returns this {@link #world}.
+   *
+   * @return this {@link #world}.
+   */
+  public ServerWorld getWorld() {
+    return world;
+  }
+
+  /**
+   * Returns this {@link #center}.
+   *
+   * @return this {@link #center}.
+   */
+  public BlockPos getCenter() {
+    return center;
+  }
+
+  /**
+   * Returns the amount of planned crops.
+   *
+   * @return the amount of planned crops.
+   */
+  public int size() {
+    return positions.length;
+  }
+
+  /**
+   * Returns this {@link #positions}.
+   * The returned array is shared and must not be modified.
+   *
+   * @return this {@link #positions}.
+   */
+  public long[] getPositions() {
+    return positions;
+  }
+
+  /**
+   * Returns this {@link #states}.
+   * The returned array is shared and must not be modified.
+   *
+   * @return this {@link #states}.
+   */
+  public int[] getStates() {
+    return states;
+  }
+
+  /**
+   * Returns this {@link #vetoed}.
+   * The returned set is shared, vetoes set on it apply to this plan.
+   *
+   * @return this {@link #vetoed}.
+   */
+  public BitSet getVetoed() {
+    return vetoed;
+  }
+
+  /**
+   * Returns the position of the crop at the given index.
+   *
+   * @param index
+   * @return the {@link BlockPos} of the crop.
+   */
+  public BlockPos getPos(int index) {
+    return BlockPos.fromLong(positions[index]);
+  }
+
+  /**
+   * Returns the state of the crop at the given index when it was planned.
+   *
+   * @param index
+   * @return the {@link BlockState} of the crop.
+   */
+  public BlockState getState(int index) {
+    return Block.getStateFromRawId(states[index]);
+  }
+
+  /**
+   * Checks whether the given state is still the one planned for the crop at the given index.
+   *
+   * @param index
+   * @param state current {@link BlockState} of the crop.
+   * @return whether the crop is unchanged since it was planned.
+   */
+  public boolean isUnchanged(int index, BlockState state) {
+    return Block.getRawIdFromState(state) == states[index];
+  }
+
+  /**
+   * Checks whether the crop at the given index is vetoed.
+   *
+   * @param index
+   * @return whether the crop is vetoed.
+   */
+  public boolean isVetoed(int index) {
+    return vetoed.get(index);
+  }
+
+  /**
+   * Vetoes the crop at the given index, so that it won't be harvested.
+   *
+   * @param index
+   */
+  public void veto(int index) {
+    vetoed.set(index);
+  }
+
+  /**
+   * Vetoes all the crops from the given index onward.
+   *
+   * @param from index of the first crop to veto.
+   */
+  public void vetoFrom(int from) {
+    vetoed.set(from, positions.length);
+  }
+
+  /**
+   * Vetoes all the planned crops, so that none will be harvested.
+   */
+  public void vetoAll() {
+    vetoFrom(0);
+  }
+
+  /**
+   * Releases the claims on the planned crops, unless already released.
+   */
+  public void release() {
+    if (claimed) {
+      HarvestQueue.release(world, positions);
+      claimed = false;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package crystalspider.harvestwithease.mixin;
+
+import crystalspider.harvestwithease.harvest.HarvestLimiter;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+/**
+ * Injects into {@link ServerPlayerEntity} to keep a {@link HarvestLimiter} ring with each player.
+ */
+@Mixin(ServerPlayerEntity.class)
+public abstract class ServerPlayerEntityMixin implements HarvestLimiter.Holder {
+  /**
+   * {@link HarvestLimiter} ring of the player.
+   */
+  @Unique
+  private final HarvestLimiter harvestwithease$harvestLimiter = new HarvestLimiter();
+
+  @Override
+  public HarvestLimiter harvestwithease$getHarvestLimiter() {
+    return harvestwithease$harvestLimiter;
+  }
+}
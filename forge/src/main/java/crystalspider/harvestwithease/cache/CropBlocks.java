@@ -0,0 +1,71 @@
+package crystalspider.harvestwithease.cache;
+
+import com.mojang.logging.LogUtils;
+import crystalspider.harvestwithease.config.ModConfig;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Block;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.slf4j.Logger;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Identity set of the additional crop {@link Block blocks} listed in the {@link ModConfig#getCrops() crops} config option.
+ * <p>
+ * The in-game IDs are resolved lazily on first use and dropped whenever the configuration is loaded or reloaded, so that checking whether a block is a configured crop doesn't involve any registry lookup.
+ */
+public final class CropBlocks {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LogUtils.getLogger();
+
+  /**
+   * Current set of configured crops, {@code null} if it needs to be (re)built.
+   */
+  private static volatile Set<Block> blocks = null;
+
+  private CropBlocks() {
+  }
+
+  /**
+   * Checks whether the given block is listed in the {@link ModConfig#getCrops() crops} config option.
+   *
+   * @param block
+   * @return whether the given block is a configured crop.
+   */
+  public static boolean contains(Block block) {
+    Set<Block> current = blocks;
+    if (current == null) {
+      blocks = current = resolve();
+    }
+    return current.contains(block);
+  }
+
+  /**
+   * Drops the current set so that it will be rebuilt on next use.
+   */
+  public static void invalidate() {
+    blocks = null;
+  }
+
+  /**
+   * Resolves the in-game IDs in the {@link ModConfig#getCrops() crops} config option into their blocks.
+   *
+   * @return the set of configured crops.
+   */
+  private static Set<Block> resolve() {
+    Set<Block> resolved = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (String id : ModConfig.getCrops()) {
+      ResourceLocation location = ResourceLocation.tryParse(id);
+      if (location != null && ForgeRegistries.BLOCKS.containsKey(location)) {
+        resolved.add(ForgeRegistries.BLOCKS.getValue(location));
+      } else {
+        LOGGER.debug("Couldn't find block for configured crop [" + id + "].");
+      }
+    }
+    return Collections.unmodifiableSet(resolved);
+  }
+}
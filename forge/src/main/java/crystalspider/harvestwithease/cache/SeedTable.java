@@ -0,0 +1,86 @@
+package crystalspider.harvestwithease.cache;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.BlockHitResult;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of the seed {@link Item} of each crop {@link Block}, the item removed from the drops to simulate replanting.
+ * <p>
+ * The seed of a crop is the item of its block, or its clone item if it has none, unless overridden with {@link #setSeed(Block, Item)}.
+ * Seeds are resolved once per block on first harvest and dropped on every config or tag reload, overrides are kept.
+ */
+public final class SeedTable {
+  /**
+   * Seeds explicitly set for crops whose resolved seed is not their seed.
+   */
+  private static final Map<Block, Item> overrides = new ConcurrentHashMap<>();
+
+  /**
+   * Seeds resolved so far, replaced on every reload.
+   */
+  private static volatile Reference2ObjectOpenHashMap<Block, Item> seeds = new Reference2ObjectOpenHashMap<>();
+
+  private SeedTable() {
+  }
+
+  /**
+   * Returns the seed of the given crop, resolving it if needed.
+   * The seed is the item of the crop block, falling back to the crop clone item only when a player is harvesting, since the clone item may depend on them.
+   * Seeds that could not be resolved without a player are not cached.
+   *
+   * @param level {@link ServerLevel} of the crop.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} for crops harvested as part of an area.
+   * @param player {@link ServerPlayer} harvesting the crop, {@code null} if harvesting without a player.
+   * @return the seed {@link Item} of the crop, {@link Items#AIR} if none.
+   */
+  public static Item getSeed(ServerLevel level, BlockState blockState, BlockPos blockPos, @Nullable BlockHitResult hitResult, @Nullable ServerPlayer player) {
+    Block block = blockState.getBlock();
+    Reference2ObjectOpenHashMap<Block, Item> current = seeds;
+    Item seed = current.get(block);
+    if (seed == null) {
+      seed = overrides.get(block);
+      if (seed == null) {
+        seed = block.asItem();
+        if (seed == Items.AIR) {
+          if (player == null) {
+            return seed;
+          }
+          seed = block.getCloneItemStack(blockState, hitResult, level, blockPos, player).getItem();
+        }
+      }
+      current.put(block, seed);
+    }
+    return seed;
+  }
+
+  /**
+   * Sets the seed of the given crop, overriding the resolved one.
+   *
+   * @param block crop {@link Block}.
+   * @param seed seed {@link Item}, {@link Items#AIR} to never remove a seed from the drops.
+   */
+  public static void setSeed(Block block, Item seed) {
+    overrides.put(block, seed);
+    invalidate();
+  }
+
+  /**
+   * Drops all the resolved seeds so that they will be resolved again on next use.
+   */
+  public static void invalidate() {
+    seeds = new Reference2ObjectOpenHashMap<>();
+  }
+}
@@ -0,0 +1,147 @@
+package crystalspider.harvestwithease.cache;
+
+import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
+import crystalspider.harvestwithease.config.HarvestSettings;
+import crystalspider.harvestwithease.config.ModConfig;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.world.item.Tier;
+import net.minecraftforge.common.TierSortingRegistry;
+
+import java.util.List;
+
+/**
+ * Compiled table of the level and multi-harvest radius of every {@link Tier} known to the {@link TierSortingRegistry}.
+ * <p>
+ * The table is built lazily on first use and dropped on every config or tag reload (tiers are re-sorted along with datapacks), so that resolving the harvest area of a tool is a single map lookup.
+ */
+public final class TierTable {
+  /**
+   * Value of {@link #getRadius(Tier)} for tiers that cannot multi-harvest.
+   */
+  public static final int NO_RADIUS = -1;
+
+  /**
+   * Current table, {@code null} if it needs to be (re)built.
+   */
+  private static volatile TierTable table = null;
+
+  /**
+   * Level of each sorted tier.
+   */
+  private final Reference2IntOpenHashMap<Tier> levels = new Reference2IntOpenHashMap<>();
+  /**
+   * Multi-harvest radius (from center to edge) of each sorted tier.
+   */
+  private final Reference2IntOpenHashMap<Tier> radii = new Reference2IntOpenHashMap<>();
+  /**
+   * {@link HarvestSettings} the radii were computed with.
+   */
+  private final HarvestSettings settings;
+  /**
+   * Level of the configured {@link HarvestSettings#multiHarvestStartingTier() starting tier}.
+   */
+  private final int startingLevel;
+
+  /**
+   * Compiles the table from the currently sorted tiers and the given settings.
+   *
+   * @param settings
+   */
+  private TierTable(HarvestSettings settings) {
+    this.settings = settings;
+    List<Tier> sortedTiers = TierSortingRegistry.getSortedTiers();
+    for (Tier tier : sortedTiers) {
+      levels.put(tier, TierSortingRegistry.getTiersLowerThan(tier).size() + 1);
+    }
+    startingLevel = findLevel(sortedTiers, settings.multiHarvestStartingTier());
+    radii.defaultReturnValue(NO_RADIUS);
+    for (Tier tier : sortedTiers) {
+      radii.put(tier, computeRadius(tier, levels.getInt(tier)));
+    }
+  }
+
+  /**
+   * Returns the current table, building it if needed.
+   *
+   * @return the current {@link TierTable}.
+   */
+  private static TierTable get() {
+    TierTable current = table;
+    if (current == null) {
+      table = current = new TierTable(ModConfig.getSettings());
+    }
+    return current;
+  }
+
+  /**
+   * Drops the current table so that it will be rebuilt on next use.
+   */
+  public static void invalidate() {
+    table = null;
+  }
+
+  /**
+   * Returns the level of the given tier.
+   *
+   * @param tier
+   * @return the level of the given tier, as per {@link HarvestWithEaseAPI#getTierLevel(Tier)}.
+   */
+  public static int getLevel(Tier tier) {
+    TierTable current = get();
+    return current.levels.containsKey(tier) ? current.levels.getInt(tier) : TierSortingRegistry.getTiersLowerThan(tier).size() + 1;
+  }
+
+  /**
+   * Returns the level of the configured {@link HarvestSettings#multiHarvestStartingTier() starting tier}.
+   *
+   * @return the level of the configured starting tier, {@code -1} if {@code "none"}.
+   */
+  public static int getStartingLevel() {
+    return get().startingLevel;
+  }
+
+  /**
+   * Returns the multi-harvest radius (from center to edge of the square area) of the given tier.
+   *
+   * @param tier
+   * @return the multi-harvest radius of the given tier, {@link #NO_RADIUS} if the tier cannot multi-harvest.
+   */
+  public static int getRadius(Tier tier) {
+    TierTable current = get();
+    return current.radii.containsKey(tier) ? current.radii.getInt(tier) : current.computeRadius(tier, TierSortingRegistry.getTiersLowerThan(tier).size() + 1);
+  }
+
+  /**
+   * Finds the level of the given tier reference among the sorted tiers.
+   *
+   * @param sortedTiers
+   * @param tierRef
+   * @return the level of the given tier reference, {@code -1} if {@code "none"} and {@code 0} if not found, as per {@link HarvestWithEaseAPI#getTierLevel(String)}.
+   */
+  private int findLevel(List<Tier> sortedTiers, String tierRef) {
+    if (tierRef.equalsIgnoreCase("none")) {
+      return -1;
+    }
+    for (Tier tier : sortedTiers) {
+      if (HarvestWithEaseAPI.matchesTier(tierRef, tier)) {
+        return levels.getInt(tier);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Computes the multi-harvest radius of the given tier.
+   *
+   * @param tier
+   * @param level level of {@code tier}.
+   * @return the multi-harvest radius of the given tier, {@link #NO_RADIUS} if the tier cannot multi-harvest.
+   */
+  private int computeRadius(Tier tier, int level) {
+    String configTier = settings.multiHarvestStartingTier();
+    boolean multiHarvest = configTier.equalsIgnoreCase("none") || tier.toString().equalsIgnoreCase(configTier) || (
+      TierSortingRegistry.isTierSorted(tier) && (HarvestWithEaseAPI.matchesTier(configTier, tier) || HarvestWithEaseAPI.isTierIn(TierSortingRegistry.getTiersLowerThan(tier), configTier))
+    );
+    return multiHarvest ? ((level - startingLevel) * settings.areaIncrementStep().step + settings.areaStartingSize().size - 1) / 2 : NO_RADIUS;
+  }
+}
@@ -0,0 +1,24 @@
+package crystalspider.harvestwithease.config;
+
+/**
+ * How the drops of a multi-harvest are delivered.
+ */
+public enum DropMode {
+  /**
+   * Each stack of each crop pops out of its crop.
+   */
+  DEFAULT,
+  /**
+   * Stacks of the whole multi-harvest are merged and dropped at once at the clicked crop.
+   */
+  COALESCE,
+  /**
+   * Stacks go straight into the inventory of the player, any overflow is merged and dropped at once at the clicked crop.
+   */
+  INVENTORY;
+
+  @Override
+  public String toString() {
+    return name().toLowerCase();
+  }
+}
@@ -32,6 +32,31 @@ public class ModConfig {
    */
   public static final ForgeConfigSpec SPEC = BUILDER.build();
 
+  /**
+   * Current {@link HarvestSettings} snapshot, {@code null} until first needed.
+   */
+  private static volatile HarvestSettings settings = null;
+
+  /**
+   * Returns the current {@link HarvestSettings} snapshot.
+   *
+   * @return the current {@link HarvestSettings}.
+   */
+  public static HarvestSettings getSettings() {
+    HarvestSettings current = settings;
+    if (current == null) {
+      settings = current = HarvestSettings.load();
+    }
+    return current;
+  }
+
+  /**
+   * Publishes a new {@link HarvestSettings} snapshot from the current configuration values.
+   */
+  public static void refresh() {
+    settings = HarvestSettings.load();
+  }
+
   /**
    * Returns the value of {@link CommonConfig#crops}.
    *
@@ -104,6 +129,87 @@ public class ModConfig {
     return COMMON.areaIncrementStep.get();
   }
 
+  /**
+   * Returns the value of {@link CommonConfig#deferredHarvest}.
+   *
+   * @return {@link CommonConfig#deferredHarvest} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Boolean getDeferredHarvest() {
+    return COMMON.deferredHarvest.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#cropsPerTick}.
+   *
+   * @return {@link CommonConfig#cropsPerTick} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getCropsPerTick() {
+    return COMMON.cropsPerTick.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#tickBudget}.
+   *
+   * @return {@link CommonConfig#tickBudget} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getTickBudget() {
+    return COMMON.tickBudget.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#dropMode}.
+   *
+   * @return {@link CommonConfig#dropMode} as read from the {@link #COMMON common} configuration file.
+   */
+  public static DropMode getDropMode() {
+    return COMMON.dropMode.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#msptThreshold}.
+   *
+   * @return {@link CommonConfig#msptThreshold} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getMsptThreshold() {
+    return COMMON.msptThreshold.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#msptLimit}.
+   *
+   * @return {@link CommonConfig#msptLimit} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getMsptLimit() {
+    return COMMON.msptLimit.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#serverCropsPerTick}.
+   *
+   * @return {@link CommonConfig#serverCropsPerTick} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getServerCropsPerTick() {
+    return COMMON.serverCropsPerTick.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#harvestsPerSecond}.
+   *
+   * @return {@link CommonConfig#harvestsPerSecond} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getHarvestsPerSecond() {
+    return COMMON.harvestsPerSecond.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#cropsPerSecond}.
+   *
+   * @return {@link CommonConfig#cropsPerSecond} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getCropsPerSecond() {
+    return COMMON.cropsPerSecond.get();
+  }
+
   /**
    * Common Configuration for Harvest with ease.
    */
@@ -142,6 +248,44 @@ public class ModConfig {
      * Increment step for the harvest area size with higher tool tiers.
      */
     private final EnumValue<AreaStep> areaIncrementStep;
+    /**
+     * Whether to spread multi-harvests over the following server ticks instead of harvesting the whole area at once.
+     */
+    private final BooleanValue deferredHarvest;
+    /**
+     * Maximum amount of crops to harvest each server tick.
+     * Budget for queued multi-harvests (deferred, throttled, or over the server budget).
+     */
+    private final IntValue cropsPerTick;
+    /**
+     * Maximum amount of time, in microseconds, to spend harvesting each server tick.
+     * Budget for queued multi-harvests (deferred, throttled, or over the server budget), effective only if greater than 0.
+     */
+    private final IntValue tickBudget;
+    /**
+     * How the drops of a harvest are delivered.
+     */
+    private final EnumValue<DropMode> dropMode;
+    /**
+     * Average milliseconds per tick above which multi-harvest areas start shrinking.
+     */
+    private final IntValue msptThreshold;
+    /**
+     * Average milliseconds per tick at which multi-harvest areas are shrunk to nothing.
+     */
+    private final IntValue msptLimit;
+    /**
+     * Maximum amount of crops multi-harvested right away each server tick across all players.
+     */
+    private final IntValue serverCropsPerTick;
+    /**
+     * Maximum amount of right-click harvests each player can start every second, 0 for no limit.
+     */
+    private final IntValue harvestsPerSecond;
+    /**
+     * Maximum amount of crops each player can right-click harvest every second, 0 for no limit.
+     */
+    private final IntValue cropsPerSecond;
 
     /**
      * Defines the configuration options, their default values and their comments.
@@ -165,6 +309,15 @@ public class ModConfig {
       ).define("multi-harvest starting tier", Tiers.WOOD.toString().toLowerCase(), value -> value instanceof String string && (string.equalsIgnoreCase("none") || TierSortingRegistry.byName(new ResourceLocation(string.toLowerCase())) != null));
       areaStartingSize = builder.comment(getAreaSizeComments()).defineEnum("starting harvest area size", AreaSize.SINGLE, AreaSize.values());
       areaIncrementStep = builder.comment(getAreaStepComments()).defineEnum("area increment step", AreaStep.NONE, AreaStep.values());
+      deferredHarvest = builder.comment("Spread multi-harvests over the following server ticks instead of harvesting the whole area at once.", "The right-clicked crop is always harvested immediately.").define("deferred multi-harvest", false);
+      cropsPerTick = builder.comment("Budget for queued multi-harvests (deferred, throttled, or over the server budget): maximum amount of crops to harvest each server tick (must be an integer).").defineInRange("crops per tick", 64, 1, Integer.MAX_VALUE);
+      tickBudget = builder.comment("Budget for queued multi-harvests (deferred, throttled, or over the server budget): maximum amount of time in microseconds to spend harvesting each server tick (0 to disable, must be an integer).").defineInRange("tick budget", 2000, 0, 50000);
+      dropMode = builder.comment("How the drops of a harvest are delivered.", "\"" + DropMode.DEFAULT + "\" - each stack of each crop pops out of its crop.", "\"" + DropMode.COALESCE + "\" - stacks of the whole multi-harvest are merged and dropped at once at the clicked crop, spawning as few item entities as possible.", "\"" + DropMode.INVENTORY + "\" - drops go straight into the inventory of the player, any overflow is dropped as with \"" + DropMode.COALESCE + "\".").defineEnum("drop mode", DropMode.DEFAULT, DropMode.values());
+      msptThreshold = builder.comment("Average milliseconds per server tick above which multi-harvest areas start shrinking and multi-harvests are deferred (0 to disable, must be an integer).").defineInRange("mspt threshold", 0, 0, 1000);
+      msptLimit = builder.comment("If [mspt threshold] is greater than 0, average milliseconds per server tick at which multi-harvest areas are shrunk to nothing, so that only the right-clicked crop is harvested (must be an integer greater than [mspt threshold]).").defineInRange("mspt limit", 50, 1, 1000);
+      serverCropsPerTick = builder.comment("Maximum amount of crops multi-harvested right away each server tick across all players, any exceeding crop is deferred to the following ticks (must be an integer).").defineInRange("server crops per tick", 1024, 1, Integer.MAX_VALUE);
+      harvestsPerSecond = builder.comment("Maximum amount of right-click harvests each player can start every second, any exceeding right-click on a mature crop harvests nothing (must be an integer, 0 for no limit).").defineInRange("harvests per second", 0, 0, 1000);
+      cropsPerSecond = builder.comment("Maximum amount of crops each player can right-click harvest every second, right-clicks on mature crops harvest nothing while the limit is reached (must be an integer, 0 for no limit).").defineInRange("crops per second", 0, 0, Integer.MAX_VALUE);
     }
 
     /**
@@ -0,0 +1,36 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.harvest.HarvestLimiter;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link AttachCapabilitiesEvent} event handler.
+ * Handles the {@link AttachCapabilitiesEvent} event to attach a {@link HarvestLimiter} ring to each server player.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class AttachCapabilitiesHandler {
+  /**
+   * Key of the {@link HarvestLimiter} capability.
+   */
+  private static final ResourceLocation HARVEST_LIMITER = new ResourceLocation(MOD_ID, "harvest_limiter");
+
+  /**
+   * Listens and handles the {@link AttachCapabilitiesEvent} event for entities.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(AttachCapabilitiesEvent<Entity> event) {
+    if (event.getObject() instanceof ServerPlayer) {
+      event.addCapability(HARVEST_LIMITER, new HarvestLimiter.Provider());
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.harvest.HarvestLimiter;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.MOD;
+
+/**
+ * {@link RegisterCapabilitiesEvent} event handler.
+ * Handles the {@link RegisterCapabilitiesEvent} event to register the {@link HarvestLimiter} capability.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = MOD)
+public final class RegisterCapabilitiesHandler {
+  /**
+   * Listens and handles the {@link RegisterCapabilitiesEvent} event.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(RegisterCapabilitiesEvent event) {
+    event.register(HarvestLimiter.class);
+  }
+}
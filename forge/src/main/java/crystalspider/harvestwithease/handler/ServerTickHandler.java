@@ -0,0 +1,34 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.harvest.HarvestGovernor;
+import crystalspider.harvestwithease.harvest.HarvestMetrics;
+import crystalspider.harvestwithease.harvest.HarvestQueue;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.TickEvent.ServerTickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link ServerTickEvent} event handler.
+ * Handles the {@link ServerTickEvent} event to update the multi-harvest load governor, execute the deferred multi-harvests and report the multi-harvest metrics.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class ServerTickHandler {
+  /**
+   * Listens and handles the {@link ServerTickEvent} event.
+   * At the end of each server tick, updates the {@link HarvestGovernor}, executes the deferred multi-harvests within the configured budget and periodically reports the {@link HarvestMetrics}.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(ServerTickEvent event) {
+    if (event.phase == TickEvent.Phase.END) {
+      HarvestGovernor.update(event.getServer());
+      HarvestQueue.tick();
+      HarvestMetrics.report(event.getServer());
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.cache.CropTable;
+import crystalspider.harvestwithease.cache.SeedTable;
+import crystalspider.harvestwithease.cache.TierTable;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link TagsUpdatedEvent} event handler.
+ * Handles the {@link TagsUpdatedEvent} event to refresh everything computed from tags and registries.
+ * Tiers are re-sorted by a datapack reload listener, so this is also the point where the sorted tiers are up to date.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class TagsUpdatedHandler {
+  /**
+   * Listens and handles the {@link TagsUpdatedEvent} event.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(TagsUpdatedEvent event) {
+    CropTable.invalidate();
+    SeedTable.invalidate();
+    TierTable.invalidate();
+  }
+}
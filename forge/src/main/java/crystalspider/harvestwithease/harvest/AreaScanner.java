@@ -0,0 +1,135 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.cache.CropTable;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads the block states of a single-layer multi-harvest area, one {@link LevelChunkSection} at a time.
+ * <p>
+ * Each section crossed by the area is resolved once, on the first tile falling into it, and its palette is checked for any mature crop state.
+ * Sections that can't hold any are skipped altogether, so that their tiles never cost a block state read.
+ * Only chunks that are already loaded are read, tiles in any other chunk are skipped and counted, see {@link #getUnloadedTiles()}.
+ */
+public final class AreaScanner {
+  /**
+   * Status of sections not resolved yet.
+   */
+  private static final byte UNRESOLVED = 0;
+  /**
+   * Status of sections that have been resolved.
+   */
+  private static final byte RESOLVED = 1;
+  /**
+   * Status of sections in chunks that are not loaded.
+   */
+  private static final byte UNLOADED = 2;
+
+  /**
+   * {@link Level} of the area.
+   */
+  private final Level level;
+  /**
+   * Index of the sections crossed by the area, {@code -1} if outside the build height.
+   */
+  private final int sectionIndex;
+  /**
+   * Smallest chunk X coordinate crossed by the area.
+   */
+  private final int minChunkX;
+  /**
+   * Smallest chunk Z coordinate crossed by the area.
+   */
+  private final int minChunkZ;
+  /**
+   * Number of chunks crossed by the area along the Z axis.
+   */
+  private final int depth;
+  /**
+   * Sections resolved so far, {@code null} if they can't hold a mature crop.
+   */
+  private final LevelChunkSection[] sections;
+  /**
+   * Status of each section, see {@link #UNRESOLVED}, {@link #RESOLVED} and {@link #UNLOADED}.
+   */
+  private final byte[] statuses;
+  /**
+   * Number of tiles skipped so far because their chunk is not loaded.
+   */
+  private int unloadedTiles = 0;
+
+  /**
+   * @param level {@link #level}.
+   * @param center center of the area.
+   * @param radius distance from the center to the edges of the square area.
+   */
+  public AreaScanner(Level level, BlockPos center, int radius) {
+    this.level = level;
+    this.sectionIndex = level.isOutsideBuildHeight(center.getY()) ? -1 : level.getSectionIndex(center.getY());
+    this.minChunkX = SectionPos.blockToSectionCoord(center.getX() - radius);
+    this.minChunkZ = SectionPos.blockToSectionCoord(center.getZ() - radius);
+    int width = SectionPos.blockToSectionCoord(center.getX() + radius) - minChunkX + 1;
+    this.depth = SectionPos.blockToSectionCoord(center.getZ() + radius) - minChunkZ + 1;
+    this.sections = new LevelChunkSection[width * depth];
+    this.statuses = new byte[width * depth];
+  }
+
+  /**
+   * Returns the number of tiles skipped so far because their chunk is not loaded.
+   *
+   * @return the number of unloaded tiles read so far.
+   */
+  public int getUnloadedTiles() {
+    return unloadedTiles;
+  }
+
+  /**
+   * Returns the block state at the given position, if its section might hold a mature crop.
+   * <p>
+   * The position must be within the area and on its layer.
+   *
+   * @param pos
+   * @return the block state at the given position, {@code null} if its section can't hold a mature crop or its chunk is not loaded.
+   */
+  @Nullable
+  public BlockState getBlockState(BlockPos pos) {
+    int chunkX = SectionPos.blockToSectionCoord(pos.getX()), chunkZ = SectionPos.blockToSectionCoord(pos.getZ());
+    int index = (chunkX - minChunkX) * depth + chunkZ - minChunkZ;
+    if (statuses[index] == UNRESOLVED) {
+      resolve(index, chunkX, chunkZ);
+    }
+    if (statuses[index] == UNLOADED) {
+      unloadedTiles++;
+      return null;
+    }
+    LevelChunkSection section = sections[index];
+    return section != null ? section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15) : null;
+  }
+
+  /**
+   * Resolves the section of the area in the given chunk, without loading the chunk if it's not loaded already.
+   *
+   * @param index index of the section.
+   * @param chunkX
+   * @param chunkZ
+   */
+  private void resolve(int index, int chunkX, int chunkZ) {
+    statuses[index] = RESOLVED;
+    if (sectionIndex >= 0) {
+      LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+      if (chunk == null) {
+        statuses[index] = UNLOADED;
+      } else {
+        LevelChunkSection section = chunk.getSection(sectionIndex);
+        if (!section.hasOnlyAir() && section.maybeHas(CropTable::isMature)) {
+          sections[index] = section;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,302 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.AfterHarvest;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.BeforeHarvest;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.HarvestDrops;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.RightClickHarvestCheck;
+import crystalspider.harvestwithease.cache.CropTable;
+import crystalspider.harvestwithease.config.HarvestSettings;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.SoundType;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.gameevent.GameEvent;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraftforge.common.MinecraftForge;
+
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Harvests single crops on behalf of a player, taking care of all related actions (exp granting, hoe damaging, dropping resources, etc.) and dispatching all related events.
+ */
+public final class CropHarvester {
+  /**
+   * Update flags used to reset crops harvested as part of an area: clients are still notified (changes are batched per chunk section each tick), but no neighbor or shape updates are triggered.
+   */
+  private static final int AREA_UPDATE_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE;
+
+  private CropHarvester() {
+  }
+
+  /**
+   * Harvests the crop, handles all related actions (exp granting, hoe damaging, dropping resources, etc.) and dispatches all related events.
+   *
+   * @param level {@link ServerLevel level}.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param face clicked {@link Direction face} of the crop block.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} for crops harvested as part of an area.
+   * @param player {@link ServerPlayer player} harvesting the crop.
+   * @param hand {@link InteractionHand hand} used to harvest.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   */
+  public static void harvest(ServerLevel level, BlockState blockState, BlockPos blockPos, Direction face, @Nullable BlockHitResult hitResult, ServerPlayer player, InteractionHand hand, HarvestSettings settings) {
+    harvest(level, blockState, blockPos, face, hitResult, player, hand, settings, null, null, null);
+  }
+
+  /**
+   * Harvests the crop, handles all related actions (exp granting, hoe damaging, dropping resources, etc.) and dispatches all related events.
+   *
+   * @param level {@link ServerLevel level}.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param face clicked {@link Direction face} of the crop block.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} for crops harvested as part of an area.
+   * @param player {@link ServerPlayer player} harvesting the crop.
+   * @param hand {@link InteractionHand hand} used to harvest.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @param loot {@link CropLoot} to compute the drops with, {@code null} to use one for this crop only.
+   * @param collector {@link DropCollector} to collect the drops into, {@code null} to drop them right away.
+   * @param effects {@link HarvestEffects} to aggregate the effects into, {@code null} to play them right away.
+   */
+  public static void harvest(ServerLevel level, BlockState blockState, BlockPos blockPos, Direction face, @Nullable BlockHitResult hitResult, ServerPlayer player, InteractionHand hand, HarvestSettings settings, @Nullable CropLoot loot, @Nullable DropCollector collector, @Nullable HarvestEffects effects) {
+    if (hitResult != null || EventListeners.BEFORE_HARVEST.hasListeners()) {
+      MinecraftForge.EVENT_BUS.post(new BeforeHarvest(level, blockState, blockPos, face, hitResult, player, hand));
+    }
+    grantExp(player, settings, effects);
+    damageHoe(player, hand, settings, effects);
+    BlockPos basePos = getBasePos(level, blockState.getBlock(), blockPos);
+    updateCrop(level, blockState.getBlock(), basePos, player, dropResources(level, level.getBlockState(basePos), basePos, face, hitResult, player, hand, loot != null ? loot : CropLoot.of(level, player, player.getItemInHand(hand)), collector), collector, effects, hitResult == null, false);
+    playSound(level, player, blockState, blockPos, settings, effects);
+    if (hitResult != null || EventListeners.AFTER_HARVEST.hasListeners()) {
+      MinecraftForge.EVENT_BUS.post(new AfterHarvest(level, blockState, blockPos, face, hitResult, player, hand));
+    }
+  }
+
+  /**
+   * Harvests the crop without a player, collecting its drops.
+   * No event is fired, no experience is granted, no tool is damaged and no harvest sound is played.
+   *
+   * @param level {@link ServerLevel level}.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param loot {@link CropLoot} to compute the drops with.
+   * @param owner {@link ServerPlayer} on whose behalf the crop is harvested, {@code null} if none.
+   * @param collector {@link DropCollector} to collect the drops into.
+   */
+  public static void harvest(ServerLevel level, BlockState blockState, BlockPos blockPos, CropLoot loot, @Nullable ServerPlayer owner, DropCollector collector) {
+    BlockPos basePos = getBasePos(level, blockState.getBlock(), blockPos);
+    BlockState baseState = level.getBlockState(basePos);
+    collector.addAll(CropDrops.getDrops(loot, level, baseState, basePos, null, owner));
+    updateCrop(level, blockState.getBlock(), basePos, owner, false, collector, null, true, true);
+  }
+
+  /**
+   * Updates the crop in the world, reverting it to age 0 (simulate replanting) and, if it's a multi-block crop, breaks the crop blocks above.
+   *
+   * @param level {@link ServerLevel level}.
+   * @param block {@link Block} of the crop clicked.
+   * @param basePos {@link BlockPos} of the crop block clicked.
+   * @param player {@link ServerPlayer player} harvesting the crop, {@code null} if harvesting without a player.
+   * @param customDrops whether {@link HarvestDrops} listeners have changed the drops to drop.
+   * @param collector {@link DropCollector} to collect the drops of the crop blocks above into, {@code null} to drop them right away.
+   * @param effects {@link HarvestEffects} to aggregate the effects of breaking the crop blocks above into, {@code null} to play them right away.
+   * @param area whether the crop is harvested as part of an area, in which case neighbors are not updated unless the crop is a multi-block crop.
+   * @param silent whether to break the crop blocks above without any particle or sound.
+   */
+  private static void updateCrop(ServerLevel level, Block block, BlockPos basePos, @Nullable ServerPlayer player, boolean customDrops, @Nullable DropCollector collector, @Nullable HarvestEffects effects, boolean area, boolean silent) {
+    BlockState resetState = CropTable.getResetState(level.getBlockState(basePos));
+    if (resetState != null) {
+      level.setBlock(basePos, resetState, area && !resetState.isAir() && !CropTable.isTall(resetState) ? AREA_UPDATE_FLAGS : Block.UPDATE_ALL);
+      BlockPos abovePos = basePos.above();
+      BlockState aboveState = level.getBlockState(abovePos);
+      if (CropTable.isTall(resetState) && aboveState.is(block)) {
+        if (collector != null && !customDrops) {
+          collector.addAll(Block.getDrops(aboveState, level, abovePos, level.getBlockEntity(abovePos), player, ItemStack.EMPTY));
+          destroyBlock(level, aboveState, abovePos, player, false, effects, silent);
+        } else {
+          destroyBlock(level, aboveState, abovePos, player, !customDrops, effects, silent);
+        }
+      }
+    }
+  }
+
+  /**
+   * Destroys the given block, as if broken by the given player.
+   * If silent, the breaking particles and sound are skipped, otherwise if a {@link HarvestEffects} is given they are aggregated.
+   *
+   * @param level {@link ServerLevel level}.
+   * @param blockState {@link BlockState state} of the block to destroy.
+   * @param blockPos {@link BlockPos position} of the block to destroy.
+   * @param player {@link ServerPlayer player} breaking the block, {@code null} if none.
+   * @param drop whether to drop the block resources.
+   * @param effects {@link HarvestEffects} to aggregate the effects into, {@code null} to play them right away.
+   * @param silent whether to skip the breaking particles and sound.
+   */
+  private static void destroyBlock(ServerLevel level, BlockState blockState, BlockPos blockPos, @Nullable ServerPlayer player, boolean drop, @Nullable HarvestEffects effects, boolean silent) {
+    if (effects != null || silent) {
+      if (drop) {
+        Block.dropResources(blockState, level, blockPos, level.getBlockEntity(blockPos), player, ItemStack.EMPTY);
+      }
+      if (level.setBlock(blockPos, level.getFluidState(blockPos).createLegacyBlock(), Block.UPDATE_ALL)) {
+        level.gameEvent(GameEvent.BLOCK_DESTROY, blockPos, GameEvent.Context.of(player, blockState));
+      }
+      if (!silent) {
+        effects.playDestroyEffects(level, blockState, blockPos, player);
+      }
+    } else {
+      level.destroyBlock(blockPos, drop, player);
+    }
+  }
+
+  /**
+   * Returns the base pos of the clicked crop.
+   *
+   * @param world {@link ServerLevel level}.
+   * @param block {@link Block} of the clicked crop.
+   * @param blockPos {@link BlockPos} of the crop block clicked.
+   * @return the base pos of the clicked crop.
+   */
+  private static BlockPos getBasePos(ServerLevel world, Block block, BlockPos blockPos) {
+    BlockPos basePos;
+    for (basePos = blockPos; CropTable.isTall(world.getBlockState(blockPos)) && world.getBlockState(basePos.below()).is(block); basePos = basePos.below()) ;
+    return basePos;
+  }
+
+  /**
+   * Grants the given player the configured amount of experience, if any, or adds it to the given {@link HarvestEffects}.
+   *
+   * @param player {@link ServerPlayer player} to grant the experience to.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @param effects {@link HarvestEffects} to add the experience to, {@code null} to grant it right away.
+   */
+  private static void grantExp(ServerPlayer player, HarvestSettings settings, @Nullable HarvestEffects effects) {
+    if (effects != null) {
+      effects.addExp(settings.grantedExp());
+    } else if (settings.grantedExp() > 0) {
+      player.giveExperiencePoints(settings.grantedExp());
+    }
+  }
+
+  /**
+   * If needed and possible, damages the hoe of the given {@link HarvestSettings#damageOnHarvest() damage}, or adds the damage to the given {@link HarvestEffects}.
+   *
+   * @param player {@link ServerPlayer player} holding the hoe.
+   * @param hand {@link InteractionHand hand} holding the hoe.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @param effects {@link HarvestEffects} to add the damage to, {@code null} to damage the hoe right away.
+   */
+  private static void damageHoe(ServerPlayer player, InteractionHand hand, HarvestSettings settings, @Nullable HarvestEffects effects) {
+    if (effects != null) {
+      effects.addDamage(getHoeDamage(player, settings));
+    } else if (getHoeDamage(player, settings) > 0) {
+      player.getItemInHand(hand).hurtAndBreak(settings.damageOnHarvest(), player, playerEntity -> playerEntity.broadcastBreakEvent(hand));
+    }
+  }
+
+  /**
+   * Returns the damage the hoe of the given player takes for each harvested crop.
+   *
+   * @param player {@link ServerPlayer player} holding the hoe.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @return the damage the hoe takes for each harvested crop, {@code 0} if it takes none.
+   */
+  private static int getHoeDamage(ServerPlayer player, HarvestSettings settings) {
+    return settings.requireHoe() && !player.isCreative() ? Math.max(settings.damageOnHarvest(), 0) : 0;
+  }
+
+  /**
+   * Drop the resources resulting from harvesting a crop in the given {@link ServerLevel level} and {@link BlockState blockState}, making them pop from the given face and using the item held in the given player hand.
+   * If a {@link DropCollector} is given, the resources are collected instead.
+   * Takes care of dispatching the {@link HarvestDrops} to retrieve the drops resulting from the harvest, if it has any listener.
+   *
+   * @param level {@link ServerLevel server level} the drops should come from.
+   * @param blockState {@link BlockState state} of the crop being harvested.
+   * @param blockPos crop {@link BlockPos position}.
+   * @param face {@link Direction face} clicked of the crop.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} for crops harvested as part of an area.
+   * @param player {@link ServerPlayer player} harvesting the crop.
+   * @param hand {@link InteractionHand hand} used to harvest the crop.
+   * @param loot {@link CropLoot} to compute the drops with.
+   * @param collector {@link DropCollector} to collect the drops into, {@code null} to drop them right away.
+   * @return whether {@link HarvestDrops} listeners have changed the drops to drop.
+   */
+  private static boolean dropResources(ServerLevel level, BlockState blockState, BlockPos blockPos, Direction face, @Nullable BlockHitResult hitResult, ServerPlayer player, InteractionHand hand, CropLoot loot, @Nullable DropCollector collector) {
+    List<ItemStack> drops;
+    boolean customDrops = false;
+    if (EventListeners.HARVEST_DROPS.hasListeners()) {
+      HarvestDrops event = new HarvestDrops(level, blockState, blockPos, face, hitResult, player, hand, CropDrops.getDrops(loot, level, blockState, blockPos, hitResult, player));
+      MinecraftForge.EVENT_BUS.post(event);
+      drops = event.getFinalDrops();
+      customDrops = event.haveDropsChanged();
+    } else {
+      drops = CropDrops.getDrops(loot, level, blockState, blockPos, hitResult, player);
+    }
+    for (ItemStack stack : drops) {
+      if (collector != null) {
+        collector.add(stack);
+      } else if (blockState.getCollisionShape(level, blockPos) != Shapes.empty()) {
+        Block.popResourceFromFace(level, blockPos, face, stack);
+      } else {
+        Block.popResource(level, blockPos, stack);
+      }
+    }
+    return customDrops;
+  }
+
+  /**
+   * If {@link HarvestSettings#playSound() playSound} is true, plays the block breaking sound or aggregates it into the given {@link HarvestEffects}.
+   *
+   * @param level {@link ServerLevel} to play the sound.
+   * @param player {@link ServerPlayer player} activating the sound.
+   * @param blockState {@link BlockState state} of the block emitting the sound.
+   * @param blockPos {@link BlockPos position} of the block emitting the sound.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @param effects {@link HarvestEffects} to aggregate the sound into, {@code null} to play it right away.
+   */
+  private static void playSound(ServerLevel level, ServerPlayer player, BlockState blockState, BlockPos blockPos, HarvestSettings settings, @Nullable HarvestEffects effects) {
+    if (settings.playSound()) {
+      if (effects != null) {
+        effects.playBreakSound(level, blockState, blockPos, player);
+      } else {
+        SoundType soundType = blockState.getBlock().getSoundType(blockState, level, blockPos, player);
+        level.playSound(null, blockPos, soundType.getBreakSound(), SoundSource.BLOCKS, soundType.getVolume(), soundType.getPitch());
+      }
+    }
+  }
+
+  /**
+   * Checks whether the given {@link Player} can right-click harvest the crop.
+   * Expects {@code blockState} to be already known as a fully grown crop.
+   * Dispatches the {@link RightClickHarvestCheck} event if the player has the correct tool for drops, unless the crop is part of an area and nobody listens to the event.
+   *
+   * @param level {@link Level} of the interaction.
+   * @param blockState {@link BlockState} of the crop to harvest.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param player {@link Player} trying to harvest.
+   * @param hand {@link InteractionHand hand} being used to harvest the crop.
+   * @param first whether the current crop is the actual right-clicked crop.
+   * @return whether the player can right-click harvest the crop.
+   */
+  public static boolean canHarvest(Level level, BlockState blockState, BlockPos blockPos, Player player, InteractionHand hand, boolean first) {
+    if (player.hasCorrectToolForDrops(blockState)) {
+      if (!first && !EventListeners.RIGHT_CLICK_HARVEST_CHECK.hasListeners()) {
+        return true;
+      }
+      RightClickHarvestCheck event = new RightClickHarvestCheck(level, blockState, blockPos, player, hand, true, first);
+      MinecraftForge.EVENT_BUS.post(event);
+      return event.canHarvest();
+    }
+    return false;
+  }
+}
@@ -0,0 +1,144 @@
+package crystalspider.harvestwithease.harvest;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.LevelEvent;
+import net.minecraft.world.level.block.SoundType;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Aggregates the side effects of a multi-harvest, so that nearby clients hear each kind of crop once per area cell instead of once per crop
+ * and the player is granted experience and has their hoe damaged once for the whole area instead of once per crop.
+ * <p>
+ * At most {@link #MAX_SOUNDS} sounds are played for the whole multi-harvest, blocks broken above tall crops play their breaking particles along with their sound.
+ */
+public final class HarvestEffects {
+  /**
+   * Maximum number of sounds played for a single multi-harvest.
+   */
+  public static final int MAX_SOUNDS = 8;
+  /**
+   * Shift turning block coordinates into cell coordinates, cells are {@code 4x4x4} blocks.
+   */
+  private static final int CELL_SHIFT = 2;
+
+  /**
+   * Packed cells where each {@link SoundType} was already played.
+   */
+  private final Reference2ObjectOpenHashMap<SoundType, LongOpenHashSet> cells = new Reference2ObjectOpenHashMap<>();
+  /**
+   * Number of sounds played so far.
+   */
+  private int played = 0;
+  /**
+   * Number of sounds skipped so far.
+   */
+  private int skipped = 0;
+  /**
+   * Experience to grant once the multi-harvest completes.
+   */
+  private int exp = 0;
+  /**
+   * Damage to deal to the hoe once the multi-harvest completes.
+   */
+  private int damage = 0;
+
+  /**
+   * Plays the breaking sound of the given crop, unless the same sound was already played in the same cell or {@link #MAX_SOUNDS} sounds were already played.
+   *
+   * @param level {@link ServerLevel} to play the sound.
+   * @param blockState {@link BlockState state} of the block emitting the sound.
+   * @param blockPos {@link BlockPos position} of the block emitting the sound.
+   * @param player {@link ServerPlayer player} activating the sound.
+   */
+  public void playBreakSound(ServerLevel level, BlockState blockState, BlockPos blockPos, ServerPlayer player) {
+    SoundType soundType = blockState.getBlock().getSoundType(blockState, level, blockPos, player);
+    if (claim(soundType, blockPos)) {
+      level.playSound(null, blockPos, soundType.getBreakSound(), SoundSource.BLOCKS, soundType.getVolume(), soundType.getPitch());
+    }
+  }
+
+  /**
+   * Plays the breaking particles and sound of the given block, as {@link ServerLevel#destroyBlock} would, under the same limits as {@link #playBreakSound}.
+   *
+   * @param level {@link ServerLevel} to play the effects.
+   * @param blockState {@link BlockState state} of the block broken.
+   * @param blockPos {@link BlockPos position} of the block broken.
+   * @param player {@link ServerPlayer player} breaking the block, {@code null} if none.
+   */
+  public void playDestroyEffects(ServerLevel level, BlockState blockState, BlockPos blockPos, @Nullable ServerPlayer player) {
+    if (claim(blockState.getBlock().getSoundType(blockState, level, blockPos, player), blockPos)) {
+      level.levelEvent(LevelEvent.PARTICLES_DESTROY_BLOCK, blockPos, Block.getId(blockState));
+    }
+  }
+
+  /**
+   * Claims the cell of the given position for the given {@link SoundType}, unless it was already claimed or {@link #MAX_SOUNDS} sounds were already played.
+   *
+   * @param soundType {@link SoundType} to play.
+   * @param blockPos {@link BlockPos position} of the block emitting the sound.
+   * @return whether the sound should be played.
+   */
+  private boolean claim(SoundType soundType, BlockPos blockPos) {
+    long cell = BlockPos.asLong(blockPos.getX() >> CELL_SHIFT, blockPos.getY() >> CELL_SHIFT, blockPos.getZ() >> CELL_SHIFT);
+    if (played < MAX_SOUNDS && cells.computeIfAbsent(soundType, key -> new LongOpenHashSet()).add(cell)) {
+      played++;
+      return true;
+    }
+    skipped++;
+    return false;
+  }
+
+  /**
+   * Adds the given experience to the experience to grant.
+   *
+   * @param amount
+   */
+  public void addExp(int amount) {
+    exp += amount;
+  }
+
+  /**
+   * Adds the given damage to the damage to deal to the hoe.
+   *
+   * @param amount
+   */
+  public void addDamage(int amount) {
+    damage += amount;
+  }
+
+  /**
+   * Returns the damage to deal to the hoe accumulated so far.
+   *
+   * @return the accumulated hoe damage.
+   */
+  public int getDamage() {
+    return damage;
+  }
+
+  /**
+   * Completes the aggregation, granting the accumulated experience, dealing the accumulated damage to the hoe and recording the skipped sounds.
+   *
+   * @param player {@link ServerPlayer player} harvesting.
+   * @param hand {@link InteractionHand hand} holding the hoe.
+   * @param tool {@link ItemStack} the area was harvested with.
+   */
+  public void finish(ServerPlayer player, InteractionHand hand, ItemStack tool) {
+    if (exp > 0) {
+      player.giveExperiencePoints(exp);
+    }
+    if (damage > 0) {
+      tool.hurtAndBreak(damage, player, playerEntity -> playerEntity.broadcastBreakEvent(hand));
+    }
+    HarvestMetrics.addAvoidedSounds(skipped);
+    exp = damage = skipped = 0;
+  }
+}
@@ -0,0 +1,116 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.config.HarvestSettings;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.common.util.LazyOptional;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Per-player rate limiter of right-click harvests.
+ * <p>
+ * Each player carries, as a {@link #CAPABILITY capability}, a fixed ring of one slot per server tick of the last second, counting harvests and harvested crops,
+ * so that checking and recording a harvest never allocates.
+ * Rings live and die with their player.
+ * Only meant to be used from the server thread.
+ */
+public final class HarvestLimiter {
+  /**
+   * {@link Capability} of the ring of each player.
+   */
+  public static final Capability<HarvestLimiter> CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {});
+
+  /**
+   * Amount of slots of each ring, one per tick of a second.
+   */
+  private static final int SLOTS = 20;
+
+  /**
+   * Server tick each slot refers to.
+   */
+  private final long[] ticks = new long[SLOTS];
+  /**
+   * Harvests started in each slot.
+   */
+  private final int[] harvests = new int[SLOTS];
+  /**
+   * Crops harvested in each slot.
+   */
+  private final int[] crops = new int[SLOTS];
+
+  private HarvestLimiter() {
+    Arrays.fill(ticks, Long.MIN_VALUE);
+  }
+
+  /**
+   * Checks whether the given player already reached {@link HarvestSettings#harvestsPerSecond()} or {@link HarvestSettings#cropsPerSecond()}.
+   *
+   * @param player
+   * @param settings {@link HarvestSettings} of the current interaction.
+   * @return whether the given player must wait before harvesting again.
+   */
+  public static boolean isLimited(ServerPlayer player, HarvestSettings settings) {
+    if (settings.harvestsPerSecond() <= 0 && settings.cropsPerSecond() <= 0) {
+      return false;
+    }
+    HarvestLimiter limiter = player.getCapability(CAPABILITY).orElse(null);
+    if (limiter == null) {
+      return false;
+    }
+    long tick = player.server.getTickCount();
+    int recentHarvests = 0;
+    int recentCrops = 0;
+    for (int slot = 0; slot < SLOTS; slot++) {
+      if (limiter.ticks[slot] > tick - SLOTS) {
+        recentHarvests += limiter.harvests[slot];
+        recentCrops += limiter.crops[slot];
+      }
+    }
+    return (settings.harvestsPerSecond() > 0 && recentHarvests >= settings.harvestsPerSecond()) || (settings.cropsPerSecond() > 0 && recentCrops >= settings.cropsPerSecond());
+  }
+
+  /**
+   * Records a harvest of the given player.
+   *
+   * @param player
+   * @param amount amount of crops harvested, or planned to be.
+   * @param settings {@link HarvestSettings} of the current interaction.
+   */
+  public static void record(ServerPlayer player, int amount, HarvestSettings settings) {
+    if (settings.harvestsPerSecond() > 0 || settings.cropsPerSecond() > 0) {
+      HarvestLimiter limiter = player.getCapability(CAPABILITY).orElse(null);
+      if (limiter != null) {
+        long tick = player.server.getTickCount();
+        int slot = (int) (tick % SLOTS);
+        if (limiter.ticks[slot] != tick) {
+          limiter.ticks[slot] = tick;
+          limiter.harvests[slot] = 0;
+          limiter.crops[slot] = 0;
+        }
+        limiter.harvests[slot]++;
+        limiter.crops[slot] += amount;
+      }
+    }
+  }
+
+  /**
+   * {@link ICapabilityProvider} attaching a {@link HarvestLimiter} ring to a player.
+   */
+  public static final class Provider implements ICapabilityProvider {
+    /**
+     * Ring of the player.
+     */
+    private final LazyOptional<HarvestLimiter> limiter = LazyOptional.of(HarvestLimiter::new);
+
+    @Override
+    public <T> LazyOptional<T> getCapability(Capability<T> capability, @Nullable Direction side) {
+      return CAPABILITY.orEmpty(capability, limiter);
+    }
+  }
+}
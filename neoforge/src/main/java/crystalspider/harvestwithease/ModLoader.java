@@ -1,7 +1,9 @@
 package crystalspider.harvestwithease;
 
 import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.harvest.HarvestLimiter;
 import net.minecraft.resources.ResourceLocation;
+import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.ModLoadingContext;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.config.ModConfig.Type;
@@ -27,7 +29,8 @@ public class ModLoader {
    */
   public static final SimpleChannel INSTANCE = ChannelBuilder.named(new ResourceLocation(MOD_ID, "main")).networkProtocolVersion(() -> PROTOCOL_VERSION).clientAcceptedVersions(PROTOCOL_VERSION::equals).serverAcceptedVersions(version -> true).simpleChannel();
 
-  public ModLoader() {
+  public ModLoader(IEventBus modEventBus) {
     ModLoadingContext.get().registerConfig(Type.COMMON, ModConfig.SPEC);
+    HarvestLimiter.ATTACHMENT_TYPES.register(modEventBus);
   }
 }
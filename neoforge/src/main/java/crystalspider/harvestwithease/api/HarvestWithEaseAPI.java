@@ -1,17 +1,27 @@
 package crystalspider.harvestwithease.api;
 
-import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.cache.CropBlocks;
+import crystalspider.harvestwithease.cache.CropTable;
+import crystalspider.harvestwithease.cache.SeedTable;
+import crystalspider.harvestwithease.cache.TierTable;
+import crystalspider.harvestwithease.harvest.BulkHarvester;
+import it.unimi.dsi.fastutil.longs.LongCollection;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.BlockTags;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Tier;
 import net.minecraft.world.item.TieredItem;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.*;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.IntegerProperty;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.neoforged.neoforge.common.TierSortingRegistry;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
@@ -30,7 +40,7 @@ public final class HarvestWithEaseAPI {
    * @return whether the given block is a valid breakable crop.
    */
   public static boolean isCrop(Block block) {
-    return block instanceof CropBlock || block instanceof NetherWartBlock || block instanceof CocoaBlock || block instanceof PitcherCropBlock || ModConfig.getCrops().contains(getKey(block));
+    return block instanceof CropBlock || block instanceof NetherWartBlock || block instanceof CocoaBlock || block instanceof PitcherCropBlock || CropBlocks.contains(block);
   }
 
   /**
@@ -43,6 +53,10 @@ public final class HarvestWithEaseAPI {
    * @throws ClassCastException if the age property is not an {@link IntegerProperty}.
    */
   public static IntegerProperty getAge(BlockState blockState) throws NullPointerException, NoSuchElementException, ClassCastException {
+    IntegerProperty age = CropTable.getAge(blockState);
+    if (age != null) {
+      return age;
+    }
     return (IntegerProperty) blockState.getProperties().stream().filter(property -> property.getName().equals("age")).findFirst().orElseThrow();
   }
 
@@ -54,6 +68,9 @@ public final class HarvestWithEaseAPI {
    * @return whether the given blockstate is a mature crop.
    */
   public static boolean isMature(BlockState blockState, IntegerProperty age) {
+    if (CropTable.getAge(blockState) == age) {
+      return CropTable.isMature(blockState);
+    }
     return blockState.getOptionalValue(age).orElse(0) >= Collections.max(age.getPossibleValues());
   }
 
@@ -67,9 +84,58 @@ public final class HarvestWithEaseAPI {
    * @throws ClassCastException if the age property is not an {@link IntegerProperty}.
    */
   public static boolean isMature(BlockState blockState) throws NullPointerException, NoSuchElementException, ClassCastException {
+    if (CropTable.isCrop(blockState)) {
+      return CropTable.isMature(blockState);
+    }
     return isMature(blockState, getAge(blockState));
   }
 
+  /**
+   * Sets the seed of the given crop, the item removed from the drops to simulate replanting.
+   * Needed only for crops whose block item is not their seed.
+   *
+   * @param crop crop {@link Block}.
+   * @param seed seed {@link Item}, {@code AIR} to never remove a seed from the drops.
+   */
+  public static void setSeed(Block crop, Item seed) {
+    SeedTable.setSeed(crop, seed);
+  }
+
+  /**
+   * Harvests all the mature crops within the given box, without a player, and returns their drops.
+   * <p>
+   * Meant for automation: crops are reset as with a right-click harvest, but no event is fired, no experience is granted, no tool is damaged, no sound is played and no item entity is spawned.
+   * Permission checks are up to the caller.
+   * At most {@link BulkHarvester#MAX_VOLUME} positions can be harvested at once, split larger areas across calls or ticks.
+   * Must be called from the server thread.
+   *
+   * @param level {@link ServerLevel} of the crops.
+   * @param box {@link BoundingBox} to harvest, bounds included.
+   * @param tool {@link ItemStack} used to harvest, affects the drops.
+   * @param owner {@link ServerPlayer} on whose behalf the crops are harvested, affects the drops, {@code null} if none.
+   * @return the drops, merged into as few stacks as possible.
+   * @throws IllegalArgumentException if the box contains more than {@link BulkHarvester#MAX_VOLUME} positions.
+   */
+  public static List<ItemStack> harvestArea(ServerLevel level, BoundingBox box, ItemStack tool, @Nullable ServerPlayer owner) throws IllegalArgumentException {
+    return BulkHarvester.harvest(level, box, tool, owner);
+  }
+
+  /**
+   * Harvests all the mature crops at the given positions, without a player, and returns their drops.
+   * <p>
+   * See {@link #harvestArea(ServerLevel, BoundingBox, ItemStack, ServerPlayer)} for more details.
+   *
+   * @param level {@link ServerLevel} of the crops.
+   * @param positions positions to harvest, packed with {@link BlockPos#asLong()}.
+   * @param tool {@link ItemStack} used to harvest, affects the drops.
+   * @param owner {@link ServerPlayer} on whose behalf the crops are harvested, affects the drops, {@code null} if none.
+   * @return the drops, merged into as few stacks as possible.
+   * @throws IllegalArgumentException if more than {@link BulkHarvester#MAX_VOLUME} positions are given.
+   */
+  public static List<ItemStack> harvestArea(ServerLevel level, LongCollection positions, ItemStack tool, @Nullable ServerPlayer owner) throws IllegalArgumentException {
+    return BulkHarvester.harvest(level, positions, tool, owner);
+  }
+
   /**
    * Checks whether the given crop is a multi-block crop (a crop made of multiple vertically connected blocks).
    *
@@ -89,14 +155,7 @@ public final class HarvestWithEaseAPI {
    * @return whether the given {@link TieredItem tool} is allowed to multi-harvest.
    */
   public static boolean isTierForMultiHarvest(TieredItem tool) {
-    Tier toolTier = tool.getTier();
-    ResourceLocation id = TierSortingRegistry.getName(toolTier);
-    String configTier = ModConfig.getMultiHarvestStartingTier();
-    return configTier.equalsIgnoreCase("none") || (
-      toolTier.toString().equalsIgnoreCase(configTier) || id != null && (
-        id.toString().equalsIgnoreCase(configTier) || isTierIn(TierSortingRegistry.getTiersLowerThan(toolTier), configTier)
-      )
-    );
+    return TierTable.getRadius(tool.getTier()) != TierTable.NO_RADIUS;
   }
 
   /**
@@ -141,7 +200,7 @@ public final class HarvestWithEaseAPI {
    * @return tier level.
    */
   public static int getTierLevel(Tier tier) {
-    return TierSortingRegistry.getTiersLowerThan(tier).size() + 1;
+    return TierTable.getLevel(tier);
   }
 
   /**
@@ -185,14 +244,4 @@ public final class HarvestWithEaseAPI {
   public static boolean matchesTier(String tierRef, Tier tier) {
     return tier.toString().equalsIgnoreCase(tierRef) || TierSortingRegistry.getName(tier).toString().equalsIgnoreCase(tierRef);
   }
-
-  /**
-   * Returns the in-game ID of the block passed as parameter.
-   *
-   * @param block
-   * @return in-game ID of the given block.
-   */
-  private static String getKey(Block block) {
-    return BuiltInRegistries.BLOCK.getKey(block).toString();
-  }
 }
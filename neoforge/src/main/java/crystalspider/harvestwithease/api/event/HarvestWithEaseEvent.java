@@ -15,7 +15,7 @@ import net.neoforged.bus.api.ICancellableEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -219,13 +219,15 @@ public abstract class HarvestWithEaseEvent<P extends Player, L extends Level> ex
   public static class HarvestDrops extends HarvestWithEaseServerEvent implements ICancellableEvent {
     /**
      * List of drops.
+     * <p>
+     * Copy-on-write: default stacks are copied only when retrieved, and the list is copied only when first modified.
      */
     public final List<ItemStack> drops;
 
     /**
-     * Reference to the default drops.
+     * Same as {@link #drops}, used to track changes.
      */
-    private final List<ItemStack> defaultDrops;
+    private final DropList dropList;
 
     /**
      * @param level {@link #level}.
@@ -237,9 +239,22 @@ public abstract class HarvestWithEaseEvent<P extends Player, L extends Level> ex
      * @param hand {@link #hand}.
      */
     public HarvestDrops(ServerLevel level, BlockState target, BlockPos pos, Direction face, @Nullable BlockHitResult hitResult, ServerPlayer player, InteractionHand hand) {
+      this(level, target, pos, face, hitResult, player, hand, initDrops(level, target, pos, hitResult, player, hand));
+    }
+
+    /**
+     * @param level {@link #level}.
+     * @param target {@link #target}.
+     * @param pos {@link #pos}.
+     * @param face {@link #face}.
+     * @param hitResult {@link #hitResult}.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link #hand}.
+     * @param defaultDrops default drops, with one seed already removed. The event takes ownership of the list.
+     */
+    public HarvestDrops(ServerLevel level, BlockState target, BlockPos pos, Direction face, @Nullable BlockHitResult hitResult, ServerPlayer player, InteractionHand hand, List<ItemStack> defaultDrops) {
       super(level, target, pos, face, hitResult, player, hand);
-      defaultDrops = initDrops();
-      drops = new ArrayList<>(defaultDrops.stream().map(ItemStack::copy).toList());
+      drops = dropList = new DropList(defaultDrops);
     }
 
     /**
@@ -248,27 +263,35 @@ public abstract class HarvestWithEaseEvent<P extends Player, L extends Level> ex
      * @return whether the list of drops changed from its default value.
      */
     public boolean haveDropsChanged() {
-      if (defaultDrops.size() == drops.size()) {
-        for (int c = 0; c < defaultDrops.size(); c++) {
-          if (!ItemStack.matches(defaultDrops.get(c), drops.get(c))) {
-            return true;
-          }
-        }
-        return false;
-      }
-      return true;
+      return dropList.isChanged();
+    }
+
+    /**
+     * Returns the drops to drop, without copying the default stacks no listener retrieved.
+     * The returned list must not be modified.
+     *
+     * @return the drops to drop.
+     */
+    public List<ItemStack> getFinalDrops() {
+      return dropList.unwrap();
     }
 
     /**
-     * Initializes the {@link #drops} list.
+     * Computes the default drops.
      *
+     * @param level {@link ServerLevel} of the crop.
+     * @param target {@link BlockState} of the crop.
+     * @param pos {@link BlockPos} of the crop.
+     * @param hitResult {@link BlockHitResult} of the interaction, if any.
+     * @param player {@link ServerPlayer} right-click harvesting.
+     * @param hand {@link InteractionHand} used to harvest.
      * @return the list of drops a player would get by breaking the crop, with one seed removed.
      */
-    private List<ItemStack> initDrops() {
-      List<ItemStack> drops = Block.getDrops(target, level, pos, target.hasBlockEntity() ? level.getBlockEntity(pos) : null, getEntity(), getEntity().getItemInHand(hand));
+    private static List<ItemStack> initDrops(ServerLevel level, BlockState target, BlockPos pos, @Nullable BlockHitResult hitResult, ServerPlayer player, InteractionHand hand) {
+      List<ItemStack> drops = Block.getDrops(target, level, pos, target.hasBlockEntity() ? level.getBlockEntity(pos) : null, player, player.getItemInHand(hand));
       boolean seedRemoved = false;
       for (ItemStack stack : drops) {
-        if (!seedRemoved && stack.is(target.getBlock().getCloneItemStack(target, hitResult, level, pos, getEntity()).getItem())) {
+        if (!seedRemoved && stack.is(target.getBlock().getCloneItemStack(target, hitResult, level, pos, player).getItem())) {
           stack.shrink(1);
           seedRemoved = true;
         }
@@ -294,4 +317,199 @@ public abstract class HarvestWithEaseEvent<P extends Player, L extends Level> ex
       super(level, target, pos, face, hitResult, player, hand);
     }
   }
+
+  /**
+   * Similar to {@link HarvestWithEaseEvent}, but fired once for a whole multi-harvest area and only server-side.
+   * <p>
+   * Carries all the crops of the multi-harvest, the right-clicked crop at the center excluded, so that listeners can handle the whole area in a single pass.
+   * Crops are identified by their index, from {@code 0} to {@link #size()} excluded.
+   */
+  public static abstract class HarvestWithEaseAreaEvent extends PlayerEvent {
+    /**
+     * {@link ServerLevel} of the interaction.
+     */
+    protected final ServerLevel level;
+    /**
+     * {@link BlockPos} of the right-clicked crop, at the center of the area.
+     */
+    protected final BlockPos center;
+    /**
+     * {@link InteractionHand} used when harvesting.
+     */
+    protected final InteractionHand hand;
+    /**
+     * Positions of the crops, packed with {@link BlockPos#asLong()}.
+     */
+    private final long[] positions;
+    /**
+     * Ids of the states of the crops, as given by {@link Block#getId(BlockState)}.
+     */
+    private final int[] states;
+    /**
+     * Indexes of the vetoed crops.
+     */
+    protected final BitSet vetoed;
+
+    /**
+     * @param level {@link #level}.
+     * @param center {@link #center}.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link #hand}.
+     * @param positions {@link #positions}.
+     * @param states {@link #states}.
+     * @param vetoed {@link #vetoed}.
+     */
+    public HarvestWithEaseAreaEvent(ServerLevel level, BlockPos center, ServerPlayer player, InteractionHand hand, long[] positions, int[] states, BitSet vetoed) {
+      super(player);
+      this.level = level;
+      this.center = center;
+      this.hand = hand;
+      this.positions = positions;
+      this.states = states;
+      this.vetoed = vetoed;
+    }
+
+    @Override
+    public ServerPlayer getEntity() {
+      return (ServerPlayer) super.getEntity();
+    }
+
+    /**
+     * Returns this {@link #level}.
+     *
+     * @return this {@link #level}.
+     */
+    public ServerLevel getLevel() {
+      return level;
+    }
+
+    /**
+     * Returns this {@link #center}.
+     *
+     * @return this {@link #center}.
+     */
+    public BlockPos getCenter() {
+      return center;
+    }
+
+    /**
+     * Returns this {@link #hand}.
+     *
+     * @return this {@link #hand}.
+     */
+    public InteractionHand getHand() {
+      return hand;
+    }
+
+    /**
+     * Returns the number of crops in the area.
+     *
+     * @return the number of crops in the area.
+     */
+    public int size() {
+      return positions.length;
+    }
+
+    /**
+     * Returns the position of the crop at the given index.
+     *
+     * @param index
+     * @return the {@link BlockPos} of the crop.
+     */
+    public BlockPos getPos(int index) {
+      return BlockPos.of(positions[index]);
+    }
+
+    /**
+     * Returns the state of the crop at the given index when the multi-harvest was planned.
+     *
+     * @param index
+     * @return the {@link BlockState} of the crop.
+     */
+    public BlockState getState(int index) {
+      return Block.stateById(states[index]);
+    }
+
+    /**
+     * Checks whether the crop at the given index is vetoed.
+     *
+     * @param index
+     * @return whether the crop is vetoed.
+     */
+    public boolean isVetoed(int index) {
+      return vetoed.get(index);
+    }
+  }
+
+  /**
+   * Event fired once before a multi-harvest, to check which crops of the area can be harvested.
+   * Listeners can veto single crops or the whole area.
+   */
+  public static class AreaHarvestCheck extends HarvestWithEaseAreaEvent {
+    /**
+     * @param level {@link #level}.
+     * @param center {@link #center}.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link #hand}.
+     * @param positions positions of the crops, packed with {@link BlockPos#asLong()}.
+     * @param states ids of the states of the crops, as given by {@link Block#getId(BlockState)}.
+     * @param vetoed indexes of the vetoed crops, updated by {@link #veto(int)} and {@link #vetoAll()}.
+     */
+    public AreaHarvestCheck(ServerLevel level, BlockPos center, ServerPlayer player, InteractionHand hand, long[] positions, int[] states, BitSet vetoed) {
+      super(level, center, player, hand, positions, states, vetoed);
+    }
+
+    /**
+     * Vetoes the crop at the given index, so that it won't be harvested.
+     *
+     * @param index
+     */
+    public void veto(int index) {
+      vetoed.set(index);
+    }
+
+    /**
+     * Vetoes all the crops of the area, so that none will be harvested.
+     */
+    public void vetoAll() {
+      vetoed.set(0, size());
+    }
+  }
+
+  /**
+   * Event fired once before multi-harvesting an area, after {@link AreaHarvestCheck}.
+   */
+  public static class BeforeAreaHarvest extends HarvestWithEaseAreaEvent {
+    /**
+     * @param level {@link #level}.
+     * @param center {@link #center}.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link #hand}.
+     * @param positions positions of the crops, packed with {@link BlockPos#asLong()}.
+     * @param states ids of the states of the crops, as given by {@link Block#getId(BlockState)}.
+     * @param vetoed indexes of the vetoed crops.
+     */
+    public BeforeAreaHarvest(ServerLevel level, BlockPos center, ServerPlayer player, InteractionHand hand, long[] positions, int[] states, BitSet vetoed) {
+      super(level, center, player, hand, positions, states, vetoed);
+    }
+  }
+
+  /**
+   * Event fired once after multi-harvesting an area.
+   * Crops that were vetoed, could no longer be harvested or were not reached because the multi-harvest stopped early are all {@link #isVetoed(int) vetoed}.
+   */
+  public static class AfterAreaHarvest extends HarvestWithEaseAreaEvent {
+    /**
+     * @param level {@link #level}.
+     * @param center {@link #center}.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link #hand}.
+     * @param positions positions of the crops, packed with {@link BlockPos#asLong()}.
+     * @param states ids of the states of the crops, as given by {@link Block#getId(BlockState)}.
+     * @param vetoed indexes of the vetoed crops.
+     */
+    public AfterAreaHarvest(ServerLevel level, BlockPos center, ServerPlayer player, InteractionHand hand, long[] positions, int[] states, BitSet vetoed) {
+      super(level, center, player, hand, positions, states, vetoed);
+    }
+  }
 }
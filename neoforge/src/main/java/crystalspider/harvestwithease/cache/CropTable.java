@@ -0,0 +1,219 @@
+package crystalspider.harvestwithease.cache;
+
+import com.mojang.logging.LogUtils;
+import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.IntegerProperty;
+import net.minecraft.world.level.block.state.properties.Property;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.Collections;
+
+/**
+ * Compiled table of all crop {@link BlockState block states}, indexed by their global id in {@link Block#BLOCK_STATE_REGISTRY}.
+ * <p>
+ * The table is built lazily on first use and dropped on every config or tag reload, so that checking whether a state is a mature crop is a plain array lookup.
+ */
+public final class CropTable {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LogUtils.getLogger();
+
+  /**
+   * Flag for the states of a crop that has a valid age property.
+   */
+  public static final byte CROP = 1;
+  /**
+   * Flag for the crop states at their max age.
+   */
+  public static final byte MATURE = 1 << 1;
+  /**
+   * Flag for the crop states that may be part of a multi-block crop.
+   */
+  public static final byte TALL = 1 << 2;
+
+  /**
+   * Current table, {@code null} if it needs to be (re)built.
+   */
+  private static volatile CropTable table = null;
+
+  /**
+   * Flags of each block state, see {@link #CROP}, {@link #MATURE} and {@link #TALL}.
+   */
+  private final byte[] flags;
+  /**
+   * Age property of each crop state.
+   */
+  private final IntegerProperty[] ages;
+  /**
+   * Max age of each crop state.
+   */
+  private final int[] maxAges;
+  /**
+   * State each crop state reverts to once harvested.
+   */
+  private final BlockState[] resetStates;
+
+  /**
+   * Compiles the table from all the block states currently registered.
+   */
+  private CropTable() {
+    int size = 0;
+    for (BlockState state : Block.BLOCK_STATE_REGISTRY) {
+      size = Math.max(size, Block.getId(state) + 1);
+    }
+    flags = new byte[size];
+    ages = new IntegerProperty[size];
+    maxAges = new int[size];
+    resetStates = new BlockState[size];
+    for (BlockState state : Block.BLOCK_STATE_REGISTRY) {
+      Block block = state.getBlock();
+      if (HarvestWithEaseAPI.isCrop(block)) {
+        IntegerProperty age = findAge(state);
+        if (age != null) {
+          int id = Block.getId(state);
+          maxAges[id] = Collections.max(age.getPossibleValues());
+          ages[id] = age;
+          resetStates[id] = block == Blocks.PITCHER_CROP ? Blocks.AIR.defaultBlockState() : state.setValue(age, Collections.min(age.getPossibleValues()));
+          flags[id] = (byte) (CROP | (state.getValue(age) >= maxAges[id] ? MATURE : 0) | (state.is(BlockTags.CROPS) && !isTallButSeparate(block) ? TALL : 0));
+        } else if (state == block.defaultBlockState()) {
+          LOGGER.debug("Crop [" + block + "] has no integer age property and will be ignored. Most probably a non-crop ID was added in the configuration.");
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the current table, building it if needed.
+   *
+   * @return the current {@link CropTable}.
+   */
+  private static CropTable get() {
+    CropTable current = table;
+    if (current == null) {
+      table = current = new CropTable();
+    }
+    return current;
+  }
+
+  /**
+   * Drops the current table so that it will be rebuilt on next use.
+   */
+  public static void invalidate() {
+    table = null;
+  }
+
+  /**
+   * Returns the flags of the given state.
+   *
+   * @param state
+   * @return the flags of the given state, {@code 0} if it's not a crop.
+   */
+  public static byte getFlags(BlockState state) {
+    CropTable current = get();
+    int id = Block.getId(state);
+    return id >= 0 && id < current.flags.length ? current.flags[id] : 0;
+  }
+
+  /**
+   * Checks whether the given state is a crop with a valid age property.
+   *
+   * @param state
+   * @return whether the given state is a crop.
+   */
+  public static boolean isCrop(BlockState state) {
+    return (getFlags(state) & CROP) != 0;
+  }
+
+  /**
+   * Checks whether the given state is a fully grown crop.
+   *
+   * @param state
+   * @return whether the given state is a mature crop.
+   */
+  public static boolean isMature(BlockState state) {
+    return (getFlags(state) & MATURE) != 0;
+  }
+
+  /**
+   * Checks whether the given state is a crop that may be part of a multi-block crop.
+   *
+   * @param state
+   * @return whether the given state may be part of a tall crop.
+   */
+  public static boolean isTall(BlockState state) {
+    return (getFlags(state) & TALL) != 0;
+  }
+
+  /**
+   * Returns the age property of the given crop state.
+   *
+   * @param state
+   * @return the age property of the given state, {@code null} if it's not a crop.
+   */
+  @Nullable
+  public static IntegerProperty getAge(BlockState state) {
+    CropTable current = get();
+    int id = Block.getId(state);
+    return id >= 0 && id < current.ages.length ? current.ages[id] : null;
+  }
+
+  /**
+   * Returns the max age of the given crop state.
+   *
+   * @param state
+   * @return the max age of the given state, {@code 0} if it's not a crop.
+   */
+  public static int getMaxAge(BlockState state) {
+    CropTable current = get();
+    int id = Block.getId(state);
+    return id >= 0 && id < current.maxAges.length ? current.maxAges[id] : 0;
+  }
+
+  /**
+   * Returns the state the given crop state reverts to once harvested.
+   *
+   * @param state
+   * @return the reset state of the given state, {@code null} if it's not a crop.
+   */
+  @Nullable
+  public static BlockState getResetState(BlockState state) {
+    CropTable current = get();
+    int id = Block.getId(state);
+    return id >= 0 && id < current.resetStates.length ? current.resetStates[id] : null;
+  }
+
+  /**
+   * Looks for the age property of the given state.
+   *
+   * @param state
+   * @return the age property, {@code null} if missing or not an {@link IntegerProperty}.
+   */
+  @Nullable
+  private static IntegerProperty findAge(BlockState state) {
+    for (Property<?> property : state.getProperties()) {
+      if (property.getName().equals("age")) {
+        return property instanceof IntegerProperty age ? age : null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks whether the given block is something that might be considered a tall crop, but should actually be treated as a normal crop.
+   * <p>
+   * Currently, the only known crop with this behavior is Farmer's Delight tomatoes.
+   *
+   * @param block
+   * @return whether to treat a tall crop as a normal crop.
+   */
+  private static boolean isTallButSeparate(Block block) {
+    return BuiltInRegistries.BLOCK.getKey(block).toString().equals("farmersdelight:tomatoes");
+  }
+}
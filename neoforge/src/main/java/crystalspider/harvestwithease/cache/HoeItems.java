@@ -0,0 +1,107 @@
+package crystalspider.harvestwithease.cache;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.HoeItem;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.common.ToolAction;
+import net.neoforged.neoforge.common.ToolActions;
+
+/**
+ * Compiled table of the hoe capability of every {@link Item}, indexed by its id in {@link BuiltInRegistries#ITEM}.
+ * <p>
+ * Whether an item can perform all the {@link ToolActions#DEFAULT_HOE_ACTIONS default hoe actions} is resolved once per item.
+ * Only items whose {@code canPerformAction} may depend on the specific {@link ItemStack} are checked on each stack.
+ */
+public final class HoeItems {
+  /**
+   * Items that can't perform the default hoe actions.
+   */
+  private static final byte NOT_HOE = 0;
+  /**
+   * Items that can perform all the default hoe actions.
+   */
+  private static final byte HOE = 1;
+  /**
+   * Items whose hoe capability must be checked on each stack.
+   */
+  private static final byte STACK = 2;
+
+  /**
+   * Current table, {@code null} until first needed.
+   */
+  private static volatile byte[] table = null;
+
+  private HoeItems() {
+  }
+
+  /**
+   * Checks whether the given itemStack can perform all the {@link ToolActions#DEFAULT_HOE_ACTIONS default hoe actions}.
+   *
+   * @param stack
+   * @return whether the given itemStack is a hoe tool.
+   */
+  public static boolean isHoe(ItemStack stack) {
+    byte[] current = table;
+    if (current == null) {
+      table = current = build();
+    }
+    int id = Item.getId(stack.getItem());
+    byte kind = id >= 0 && id < current.length ? current[id] : STACK;
+    return kind == HOE || kind == STACK && canPerformHoeActions(stack);
+  }
+
+  /**
+   * Compiles the table from all the items currently registered.
+   *
+   * @return the compiled table.
+   */
+  private static byte[] build() {
+    int size = 0;
+    for (Item item : BuiltInRegistries.ITEM) {
+      size = Math.max(size, Item.getId(item) + 1);
+    }
+    byte[] kinds = new byte[size];
+    for (Item item : BuiltInRegistries.ITEM) {
+      kinds[Item.getId(item)] = classify(item);
+    }
+    return kinds;
+  }
+
+  /**
+   * Classifies the given item based on which class implements its {@code canPerformAction}.
+   * <p>
+   * Items not overriding it can't perform any action, Vanilla classes only check the action itself, anything else might look at the stack.
+   *
+   * @param item
+   * @return the hoe capability of the given item.
+   */
+  private static byte classify(Item item) {
+    try {
+      Class<?> owner = item.getClass().getMethod("canPerformAction", ItemStack.class, ToolAction.class).getDeclaringClass();
+      if (owner.isInterface()) {
+        return NOT_HOE;
+      }
+      if (owner == HoeItem.class || owner.getName().startsWith("net.minecraft.")) {
+        return canPerformHoeActions(item.getDefaultInstance()) ? HOE : NOT_HOE;
+      }
+    } catch (NoSuchMethodException | SecurityException ignored) {
+    }
+    return STACK;
+  }
+
+  /**
+   * Checks the given itemStack against all the {@link ToolActions#DEFAULT_HOE_ACTIONS default hoe actions}.
+   *
+   * @param stack
+   * @return whether the given itemStack can perform all the default hoe actions.
+   */
+  private static boolean canPerformHoeActions(ItemStack stack) {
+    for (ToolAction action : ToolActions.DEFAULT_HOE_ACTIONS) {
+      if (!stack.canPerformAction(action)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
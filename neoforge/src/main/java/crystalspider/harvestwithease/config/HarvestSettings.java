@@ -0,0 +1,68 @@
+package crystalspider.harvestwithease.config;
+
+/**
+ * Immutable snapshot of the configuration values read while harvesting.
+ * <p>
+ * A new snapshot is published by {@link ModConfig#refresh()} every time the configuration is loaded or reloaded, so a whole harvest always sees consistent values.
+ *
+ * @param requireHoe {@link ModConfig#getRequireHoe()}.
+ * @param damageOnHarvest {@link ModConfig#getDamageOnHarvest()}.
+ * @param grantedExp {@link ModConfig#getGrantedExp()}.
+ * @param playSound {@link ModConfig#getPlaySound()}.
+ * @param multiHarvestStartingTier {@link ModConfig#getMultiHarvestStartingTier()}.
+ * @param areaStartingSize {@link ModConfig#getAreaStartingSize()}.
+ * @param areaIncrementStep {@link ModConfig#getAreaIncrementStep()}.
+ * @param deferredHarvest {@link ModConfig#getDeferredHarvest()}.
+ * @param cropsPerTick {@link ModConfig#getCropsPerTick()}.
+ * @param tickBudget {@link ModConfig#getTickBudget()}.
+ * @param dropMode {@link ModConfig#getDropMode()}.
+ * @param msptThreshold {@link ModConfig#getMsptThreshold()}.
+ * @param msptLimit {@link ModConfig#getMsptLimit()}.
+ * @param serverCropsPerTick {@link ModConfig#getServerCropsPerTick()}.
+ * @param harvestsPerSecond {@link ModConfig#getHarvestsPerSecond()}.
+ * @param cropsPerSecond {@link ModConfig#getCropsPerSecond()}.
+ */
+public record HarvestSettings(
+  boolean requireHoe,
+  int damageOnHarvest,
+  int grantedExp,
+  boolean playSound,
+  String multiHarvestStartingTier,
+  AreaSize areaStartingSize,
+  AreaStep areaIncrementStep,
+  boolean deferredHarvest,
+  int cropsPerTick,
+  int tickBudget,
+  DropMode dropMode,
+  int msptThreshold,
+  int msptLimit,
+  int serverCropsPerTick,
+  int harvestsPerSecond,
+  int cropsPerSecond
+) {
+  /**
+   * Takes a snapshot of the current configuration values.
+   *
+   * @return a new {@link HarvestSettings}.
+   */
+  static HarvestSettings load() {
+    return new HarvestSettings(
+      ModConfig.getRequireHoe(),
+      ModConfig.getDamageOnHarvest(),
+      ModConfig.getGrantedExp(),
+      ModConfig.getPlaySound(),
+      ModConfig.getMultiHarvestStartingTier(),
+      ModConfig.getAreaStartingSize(),
+      ModConfig.getAreaIncrementStep(),
+      ModConfig.getDeferredHarvest(),
+      ModConfig.getCropsPerTick(),
+      ModConfig.getTickBudget(),
+      ModConfig.getDropMode(),
+      ModConfig.getMsptThreshold(),
+      ModConfig.getMsptLimit(),
+      ModConfig.getServerCropsPerTick(),
+      ModConfig.getHarvestsPerSecond(),
+      ModConfig.getCropsPerSecond()
+    );
+  }
+}
@@ -0,0 +1,57 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.cache.CropBlocks;
+import crystalspider.harvestwithease.cache.CropTable;
+import crystalspider.harvestwithease.cache.SeedTable;
+import crystalspider.harvestwithease.cache.TierTable;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.harvest.HarvestGovernor;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.Mod.EventBusSubscriber;
+import net.neoforged.fml.event.config.ModConfigEvent;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.neoforged.fml.common.Mod.EventBusSubscriber.Bus.MOD;
+
+/**
+ * {@link ModConfigEvent} event handler.
+ * Handles the {@link ModConfigEvent.Loading} and {@link ModConfigEvent.Reloading} events to refresh everything computed from the configuration.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = MOD)
+public final class ConfigEventHandler {
+  /**
+   * Listens and handles the {@link ModConfigEvent.Loading} event.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(ModConfigEvent.Loading event) {
+    refresh(event);
+  }
+
+  /**
+   * Listens and handles the {@link ModConfigEvent.Reloading} event.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(ModConfigEvent.Reloading event) {
+    refresh(event);
+  }
+
+  /**
+   * Refreshes everything computed from the configuration, if the event concerns this mod configuration.
+   *
+   * @param event
+   */
+  private static void refresh(ModConfigEvent event) {
+    if (event.getConfig().getSpec() == ModConfig.SPEC) {
+      ModConfig.refresh();
+      HarvestGovernor.validate(ModConfig.getSettings());
+      CropBlocks.invalidate();
+      CropTable.invalidate();
+      SeedTable.invalidate();
+      TierTable.invalidate();
+    }
+  }
+}
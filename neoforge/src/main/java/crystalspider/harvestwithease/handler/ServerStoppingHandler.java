@@ -0,0 +1,26 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.harvest.HarvestQueue;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.Mod.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.neoforged.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link ServerStoppingEvent} event handler.
+ * Handles the {@link ServerStoppingEvent} event to drop any pending deferred multi-harvest.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class ServerStoppingHandler {
+  /**
+   * Listens and handles the {@link ServerStoppingEvent} event.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(ServerStoppingEvent event) {
+    HarvestQueue.clear();
+  }
+}
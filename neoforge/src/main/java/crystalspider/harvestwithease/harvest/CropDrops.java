@@ -0,0 +1,44 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.cache.SeedTable;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.BlockHitResult;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Computes the default drops of a right-click harvest.
+ */
+public final class CropDrops {
+  private CropDrops() {
+  }
+
+  /**
+   * Returns the list of drops breaking the crop would give, with one {@link SeedTable#getSeed seed} removed to simulate replanting.
+   *
+   * @param loot {@link CropLoot} of the harvest.
+   * @param level {@link ServerLevel} of the interaction.
+   * @param target {@link BlockState} of the crop being harvested.
+   * @param pos {@link BlockPos} of the crop being harvested.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} for crops harvested as part of an area.
+   * @param player {@link ServerPlayer} harvesting the crop, {@code null} if harvesting without a player.
+   * @return the default drops of the harvest.
+   */
+  public static List<ItemStack> getDrops(CropLoot loot, ServerLevel level, BlockState target, BlockPos pos, @Nullable BlockHitResult hitResult, @Nullable ServerPlayer player) {
+    List<ItemStack> drops = loot.getDrops(target, pos, target.hasBlockEntity() ? level.getBlockEntity(pos) : null);
+    Item seed = SeedTable.getSeed(level, target, pos, hitResult, player);
+    for (ItemStack stack : drops) {
+      if (stack.getItem() == seed) {
+        stack.shrink(1);
+        break;
+      }
+    }
+    return drops;
+  }
+}
@@ -0,0 +1,61 @@
+package crystalspider.harvestwithease.harvest;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.storage.loot.LootParams;
+import net.minecraft.world.level.storage.loot.parameters.LootContextParams;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Loot context of a single harvest, right-click or multi-harvest, so that the common loot parameters are set once and only the crop position and state change.
+ * <p>
+ * Drops are computed as {@link Block#getDrops(BlockState, ServerLevel, BlockPos, BlockEntity, net.minecraft.world.entity.Entity, ItemStack)} would, through {@link BlockState#getDrops}, so blocks that compute their drops differently and mixins into it still apply.
+ * Each harvest must use its own instance: the underlying builder is mutated for every crop.
+ */
+public final class CropLoot {
+  /**
+   * Builder holding the shared loot parameters.
+   */
+  private final LootParams.Builder builder;
+
+  /**
+   * @param level {@link ServerLevel} of the harvest.
+   * @param player {@link ServerPlayer} harvesting, {@code null} if harvesting without a player.
+   * @param tool {@link ItemStack} used to harvest.
+   */
+  private CropLoot(ServerLevel level, @Nullable ServerPlayer player, ItemStack tool) {
+    this.builder = new LootParams.Builder(level).withParameter(LootContextParams.TOOL, tool).withOptionalParameter(LootContextParams.THIS_ENTITY, player);
+  }
+
+  /**
+   * Returns a new loot context for the given player harvesting with the given tool.
+   *
+   * @param level {@link ServerLevel} of the harvest.
+   * @param player {@link ServerPlayer} harvesting, {@code null} if harvesting without a player.
+   * @param tool {@link ItemStack} used to harvest.
+   * @return the {@link CropLoot} for the harvest.
+   */
+  public static CropLoot of(ServerLevel level, @Nullable ServerPlayer player, ItemStack tool) {
+    return new CropLoot(level, player, tool);
+  }
+
+  /**
+   * Returns the drops of the given crop, as if broken by the player with the tool.
+   *
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param blockEntity {@link BlockEntity} of the crop, if any.
+   * @return the drops of the crop.
+   */
+  public List<ItemStack> getDrops(BlockState blockState, BlockPos blockPos, @Nullable BlockEntity blockEntity) {
+    return blockState.getDrops(builder.withParameter(LootContextParams.ORIGIN, Vec3.atCenterOf(blockPos)).withOptionalParameter(LootContextParams.BLOCK_ENTITY, blockEntity));
+  }
+}
@@ -0,0 +1,129 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.config.DropMode;
+import crystalspider.harvestwithease.config.HarvestSettings;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Collects the drops of a harvest, merging stacks of the same item and tags, so that they can be delivered at once spawning as few item entities as possible.
+ */
+public final class DropCollector {
+  /**
+   * How the collected drops are delivered, either {@link DropMode#COALESCE} or {@link DropMode#INVENTORY}.
+   */
+  private final DropMode mode;
+  /**
+   * Merged stacks collected so far.
+   */
+  private final List<ItemStack> stacks = new ArrayList<>();
+  /**
+   * Number of stacks collected so far, before merging, i.e. the number of item entities the drops would have spawned.
+   */
+  private int collected = 0;
+
+  /**
+   * @param mode {@link #mode}.
+   */
+  private DropCollector(DropMode mode) {
+    this.mode = mode;
+  }
+
+  /**
+   * Creates a new {@link DropCollector} for the {@link HarvestSettings#dropMode() drop mode} of the given settings.
+   *
+   * @param settings
+   * @return a new {@link DropCollector}, {@code null} if drops are not to be collected.
+   */
+  @Nullable
+  public static DropCollector of(HarvestSettings settings) {
+    return settings.dropMode() != DropMode.DEFAULT ? new DropCollector(settings.dropMode()) : null;
+  }
+
+  /**
+   * Creates a new {@link DropCollector} that only merges the drops, meant to be {@link #drain() drained} rather than delivered.
+   *
+   * @return a new {@link DropCollector}.
+   */
+  public static DropCollector merging() {
+    return new DropCollector(DropMode.COALESCE);
+  }
+
+  /**
+   * Adds the given stack to the collected drops, merging it into the existing stacks where possible.
+   *
+   * @param stack
+   */
+  public void add(ItemStack stack) {
+    if (!stack.isEmpty()) {
+      collected++;
+      ItemStack remainder = stack.copy();
+      for (ItemStack merged : stacks) {
+        if (merged.getCount() < merged.getMaxStackSize() && ItemStack.isSameItemSameTags(merged, remainder)) {
+          int moved = Math.min(merged.getMaxStackSize() - merged.getCount(), remainder.getCount());
+          merged.grow(moved);
+          remainder.shrink(moved);
+          if (remainder.isEmpty()) {
+            return;
+          }
+        }
+      }
+      stacks.add(remainder);
+    }
+  }
+
+  /**
+   * Adds all the given stacks to the collected drops.
+   *
+   * @param drops
+   */
+  public void addAll(List<ItemStack> drops) {
+    for (ItemStack stack : drops) {
+      add(stack);
+    }
+  }
+
+  /**
+   * Delivers all the collected stacks and clears the collector.
+   * With {@link DropMode#INVENTORY} stacks go into the inventory of the given player first, whatever is left is dropped at the given position.
+   *
+   * @param level {@link ServerLevel} to drop the stacks in.
+   * @param pos {@link BlockPos} to drop the stacks at.
+   * @param player {@link ServerPlayer} to give the stacks to.
+   */
+  public void deliver(ServerLevel level, BlockPos pos, ServerPlayer player) {
+    int spawned = 0;
+    boolean toInventory = mode == DropMode.INVENTORY && !player.isRemoved();
+    for (ItemStack stack : stacks) {
+      if (toInventory) {
+        player.getInventory().add(stack);
+      }
+      if (!stack.isEmpty()) {
+        Block.popResource(level, pos, stack);
+        spawned++;
+      }
+    }
+    HarvestMetrics.addAvoidedEntities(collected - spawned);
+    stacks.clear();
+    collected = 0;
+  }
+
+  /**
+   * Returns all the collected stacks and clears the collector, without spawning anything.
+   *
+   * @return the merged stacks collected so far.
+   */
+  public List<ItemStack> drain() {
+    List<ItemStack> drained = new ArrayList<>(stacks);
+    stacks.clear();
+    collected = 0;
+    return drained;
+  }
+}
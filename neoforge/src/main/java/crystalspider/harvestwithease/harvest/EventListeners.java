@@ -0,0 +1,110 @@
+package crystalspider.harvestwithease.harvest;
+
+import com.mojang.logging.LogUtils;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.AfterAreaHarvest;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.AfterHarvest;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.AreaHarvestCheck;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.BeforeAreaHarvest;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.BeforeHarvest;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.HarvestDrops;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.RightClickHarvestCheck;
+import net.neoforged.bus.EventListenerHelper;
+import net.neoforged.bus.ListenerList;
+import net.neoforged.bus.api.Event;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import org.slf4j.Logger;
+
+import java.lang.reflect.Field;
+
+/**
+ * Detects whether an event fired on the {@link NeoForge#EVENT_BUS} has any listener, so that events can be skipped when nobody would receive them.
+ * <p>
+ * Listeners of parent events count as listeners of the event itself.
+ * If the listeners can't be inspected, every event is assumed to have listeners.
+ */
+public final class EventListeners {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LogUtils.getLogger();
+
+  /**
+   * Id of the {@link NeoForge#EVENT_BUS}, {@code -1} if it couldn't be found.
+   */
+  private static final int BUS_ID = findBusId();
+
+  /**
+   * Listeners of {@link RightClickHarvestCheck}.
+   */
+  public static final EventListeners RIGHT_CLICK_HARVEST_CHECK = new EventListeners(RightClickHarvestCheck.class);
+  /**
+   * Listeners of {@link BeforeHarvest}.
+   */
+  public static final EventListeners BEFORE_HARVEST = new EventListeners(BeforeHarvest.class);
+  /**
+   * Listeners of {@link HarvestDrops}.
+   */
+  public static final EventListeners HARVEST_DROPS = new EventListeners(HarvestDrops.class);
+  /**
+   * Listeners of {@link AfterHarvest}.
+   */
+  public static final EventListeners AFTER_HARVEST = new EventListeners(AfterHarvest.class);
+  /**
+   * Listeners of {@link AreaHarvestCheck}.
+   */
+  public static final EventListeners AREA_HARVEST_CHECK = new EventListeners(AreaHarvestCheck.class);
+  /**
+   * Listeners of {@link BeforeAreaHarvest}.
+   */
+  public static final EventListeners BEFORE_AREA_HARVEST = new EventListeners(BeforeAreaHarvest.class);
+  /**
+   * Listeners of {@link AfterAreaHarvest}.
+   */
+  public static final EventListeners AFTER_AREA_HARVEST = new EventListeners(AfterAreaHarvest.class);
+
+  /**
+   * {@link ListenerList} of the event.
+   */
+  private final ListenerList listeners;
+
+  /**
+   * @param type event class.
+   */
+  private EventListeners(Class<? extends Event> type) {
+    this.listeners = EventListenerHelper.getListenerList(type);
+  }
+
+  /**
+   * Checks whether the event has any listener on the {@link NeoForge#EVENT_BUS}.
+   *
+   * @return whether the event has any listener.
+   */
+  public boolean hasListeners() {
+    if (BUS_ID < 0) {
+      return true;
+    }
+    for (Object listener : listeners.getListeners(BUS_ID)) {
+      if (!(listener instanceof EventPriority)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Looks for the id of the {@link NeoForge#EVENT_BUS}.
+   *
+   * @return the id of the {@link NeoForge#EVENT_BUS}, {@code -1} if it couldn't be found.
+   */
+  private static int findBusId() {
+    try {
+      Field busId = NeoForge.EVENT_BUS.getClass().getDeclaredField("busID");
+      busId.setAccessible(true);
+      return busId.getInt(NeoForge.EVENT_BUS);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.debug("Couldn't inspect event listeners, all per-crop and area events will be fired during multi-harvest.", e);
+      return -1;
+    }
+  }
+}
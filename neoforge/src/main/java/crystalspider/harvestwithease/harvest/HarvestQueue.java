@@ -0,0 +1,159 @@
+package crystalspider.harvestwithease.harvest;
+
+import crystalspider.harvestwithease.config.HarvestSettings;
+import crystalspider.harvestwithease.config.ModConfig;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+
+/**
+ * Server-wide scheduler of {@link HarvestJob multi-harvests}.
+ * <p>
+ * Multi-harvests run right away only while the {@link HarvestSettings#serverCropsPerTick() server budget} of the current tick lasts, the rest is deferred.
+ * Deferred jobs are queued per player and executed at the end of each server tick, giving each player a turn of one crop at a time,
+ * for at most {@link HarvestSettings#cropsPerTick()} crops and stopping early once {@link HarvestSettings#tickBudget()} is exceeded.
+ * Crops planned by a pending job are claimed, so that overlapping areas never plan the same crop twice.
+ * Only meant to be used from the server thread.
+ */
+public final class HarvestQueue {
+  /**
+   * Pending jobs of each player, in the order they were started.
+   */
+  private static final Map<UUID, Queue<HarvestJob>> jobs = new HashMap<>();
+  /**
+   * Players with pending jobs, in turn order.
+   */
+  private static final Queue<UUID> turns = new ArrayDeque<>();
+  /**
+   * Packed positions of the crops claimed by pending jobs, per level.
+   */
+  private static final Reference2ObjectOpenHashMap<ServerLevel, LongOpenHashSet> claims = new Reference2ObjectOpenHashMap<>();
+  /**
+   * Crops that can still be harvested right away in the current tick, {@code -1} if not yet set.
+   */
+  private static int immediate = -1;
+
+  private HarvestQueue() {
+  }
+
+  /**
+   * Claims the crop at the given position for a job.
+   *
+   * @param level {@link ServerLevel} of the crop.
+   * @param pos packed position of the crop.
+   * @return whether the crop was claimed, {@code false} if another pending job already claimed it.
+   */
+  public static boolean claim(ServerLevel level, long pos) {
+    return claims.computeIfAbsent(level, key -> new LongOpenHashSet()).add(pos);
+  }
+
+  /**
+   * Checks whether the crop at the given position is claimed by a pending job.
+   *
+   * @param level {@link ServerLevel} of the crop.
+   * @param pos packed position of the crop.
+   * @return whether the crop is claimed.
+   */
+  public static boolean isClaimed(ServerLevel level, long pos) {
+    LongOpenHashSet claimed = claims.get(level);
+    return claimed != null && claimed.contains(pos);
+  }
+
+  /**
+   * Releases the crops at the given positions.
+   *
+   * @param level {@link ServerLevel} of the crops.
+   * @param positions packed positions of the crops.
+   */
+  public static void release(ServerLevel level, long[] positions) {
+    LongOpenHashSet claimed = claims.get(level);
+    if (claimed != null) {
+      for (long pos : positions) {
+        claimed.remove(pos);
+      }
+      if (claimed.isEmpty()) {
+        claims.remove(level);
+      }
+    }
+  }
+
+  /**
+   * Executes the given job right away, as far as the server budget of the current tick allows, deferring the rest.
+   *
+   * @param job
+   */
+  public static void run(HarvestJob job) {
+    if (immediate < 0) {
+      immediate = ModConfig.getSettings().serverCropsPerTick();
+    }
+    while (immediate > 0 && job.isActive()) {
+      job.step();
+      immediate--;
+    }
+    if (job.isActive()) {
+      enqueue(job);
+    } else {
+      job.finish();
+    }
+  }
+
+  /**
+   * Schedules the given job to be executed over the following server ticks.
+   *
+   * @param job
+   */
+  public static void enqueue(HarvestJob job) {
+    UUID player = job.getPlayer().getUUID();
+    Queue<HarvestJob> queue = jobs.get(player);
+    if (queue == null) {
+      jobs.put(player, queue = new ArrayDeque<>());
+      turns.add(player);
+    }
+    queue.add(job);
+  }
+
+  /**
+   * Executes the pending jobs within the configured budget, round-robin among players, and resets the server budget for the next tick.
+   */
+  public static void tick() {
+    immediate = -1;
+    if (!turns.isEmpty()) {
+      HarvestSettings settings = ModConfig.getSettings();
+      long deadline = settings.tickBudget() > 0 ? System.nanoTime() + settings.tickBudget() * 1000L : Long.MAX_VALUE;
+      int budget = settings.cropsPerTick();
+      while (budget > 0 && !turns.isEmpty() && System.nanoTime() < deadline) {
+        UUID player = turns.poll();
+        Queue<HarvestJob> queue = jobs.get(player);
+        HarvestJob job = queue.peek();
+        if (job.isActive()) {
+          job.step();
+          budget--;
+        } else {
+          queue.poll().finish();
+        }
+        if (queue.isEmpty()) {
+          jobs.remove(player);
+        } else {
+          turns.add(player);
+        }
+      }
+    }
+  }
+
+  /**
+   * Drops all pending jobs, completing them where they are.
+   */
+  public static void clear() {
+    jobs.values().forEach(queue -> queue.forEach(HarvestJob::finish));
+    jobs.clear();
+    turns.clear();
+    claims.clear();
+    immediate = -1;
+  }
+}